@@ -24,6 +24,7 @@ import com.googlecode.gflot.client.options.LegendOptions;
 import com.googlecode.gflot.client.options.LineSeriesOptions;
 import com.googlecode.gflot.client.options.PlotOptions;
 import com.googlecode.gflot.client.options.PointsSeriesOptions;
+import com.googlecode.gflot.client.options.StreamingOptions;
 import com.googlecode.gflot.client.options.TimeSeriesAxisOptions;
 import com.googlecode.gflot.examples.client.examples.DefaultActivity;
 import com.googlecode.gflot.examples.client.resources.Resources;
@@ -99,6 +100,8 @@ public class SlidingExample
             .setShow( true ).setFill( true ).setFillColor( 1.0, 1.0, 1.0, 0.5 ) ).setPointsOptions( PointsSeriesOptions.create()
             .setRadius( 1 ).setShow( true ) ).setShadowSize( 0d ) ).setLegendOptions( LegendOptions.create().setShow( false ) );
         plotOptions.addXAxisOptions( TimeSeriesAxisOptions.create().setTimeZone( TimeSeriesAxisOptions.TIME_ZONE_BROWSER_KEY ) );
+        // only the new datapoints are drawn while the y axis range does not change
+        plotOptions.setStreamingOptions( StreamingOptions.create().setEnabled( true ) );
 
         final SeriesHandler series = model.addSeries( Series.of( "Random Series", "#FF9900" ), PlotModelStrategy
             .slidingWindowStrategy( slidingWindow ) );
@@ -115,6 +118,8 @@ public class SlidingExample
 
         // create the plot
         plot = new SimplePlot( model, plotOptions );
+        // the plot is redrawn on each update, reuse it instead of creating a new one each time
+        plot.setIncrementalRedraw( true );
 
         return binder.createAndBindUi( this );
     }
@@ -1,22 +1,21 @@
 package com.googlecode.gflot.examples.client.examples.tracking;
 
+import java.util.List;
 
 import com.google.gwt.core.client.GWT;
-import com.google.gwt.core.client.JsArray;
 import com.google.gwt.i18n.client.NumberFormat;
 import com.google.gwt.uibinder.client.UiBinder;
 import com.google.gwt.uibinder.client.UiField;
 import com.google.gwt.user.client.Random;
-import com.google.gwt.user.client.Timer;
 import com.google.gwt.user.client.ui.Label;
 import com.google.gwt.user.client.ui.Widget;
-import com.googlecode.gflot.client.Axes;
 import com.googlecode.gflot.client.DataPoint;
 import com.googlecode.gflot.client.PlotModel;
 import com.googlecode.gflot.client.Series;
-import com.googlecode.gflot.client.SeriesData;
 import com.googlecode.gflot.client.SeriesHandler;
 import com.googlecode.gflot.client.SimplePlot;
+import com.googlecode.gflot.client.TrackedValue;
+import com.googlecode.gflot.client.ValueTracker;
 import com.googlecode.gflot.client.event.PlotHoverListener;
 import com.googlecode.gflot.client.event.PlotItem;
 import com.googlecode.gflot.client.event.PlotPosition;
@@ -78,30 +77,6 @@ public class TrackingExample
     @GFlotExamplesData
     private PlotModel model1;
 
-    /**
-     * If the timer is scheduled
-     */
-    @GFlotExamplesData
-    private boolean updateTrackingTimeout = false;
-
-    /**
-     * Last mouse position
-     */
-    @GFlotExamplesData
-    private PlotPosition latestPosition = null;
-
-    /**
-     * Timer to not calculate the data points at each mouse hover event
-     */
-    @GFlotExamplesData
-    private Timer updateTrackingTimer = new Timer() {
-        @Override
-        public void run()
-        {
-            updateTracking();
-        }
-    };
-
     /**
      * Second Plot
      */
@@ -139,7 +114,6 @@ public class TrackingExample
         plotOptions.setGlobalSeriesOptions( GlobalSeriesOptions.create().setLineSeriesOptions(
             LineSeriesOptions.create().setShow( true ) ) );
         plotOptions.setCrosshairOptions( CrosshairOptions.create().setMode( Mode.X ) );
-        plotOptions.setGridOptions( GridOptions.create().setHoverable( true ).setAutoHighlight( false ) );
         plotOptions.addYAxisOptions( AxisOptions.create().setMinimum( -1.2 ).setMaximum( 1.2 ) );
         plotOptions.setLegendOptions( LegendOptions.create().setSorted( LegendOptions.LegendSorting.ASCENDING ) );
 
@@ -157,86 +131,32 @@ public class TrackingExample
         // create the plot
         plot1 = new SimplePlot( model1, plotOptions );
 
-        plot1.addHoverListener( new PlotHoverListener() {
+        // the tracker computes the values once per frame, with a binary search in each series
+        plot1.getValueTracker().setView( new ValueTracker.View() {
             @Override
-            public void onPlotHover( Plot plot, PlotPosition position, PlotItem item )
-            {
-                latestPosition = position;
-                if ( !updateTrackingTimeout )
-                {
-                    updateTrackingTimeout = true;
-                    updateTrackingTimer.schedule( 100 );
-                }
-            }
-        }, false );
-    }
-
-    /**
-     * Update the tracking
-     */
-    @GFlotExamplesSource
-    private void updateTracking()
-    {
-        updateTrackingTimeout = false;
-
-        PlotPosition position = latestPosition;
-
-        Axes axes = plot1.getAxes();
-        double xPos = position.getX();
-        double yPos = position.getY();
-        double xAxisMin = axes.getX().getMinimumValue();
-        double xAxisMax = axes.getX().getMaximumValue();
-        double yAxisMin = axes.getY().getMinimumValue();
-        double yAxisMax = axes.getY().getMaximumValue();
-
-        if ( xPos < xAxisMin || xPos > xAxisMax || yPos < yAxisMin || yPos > yAxisMax )
-        {
-            return;
-        }
-
-        int i = 0;
-        int j = 0;
-        JsArray<Series> dataset = model1.getSeries();
-        StringBuilder builder = new StringBuilder();
-        for ( i = 0; i < dataset.length(); i++ )
-        {
-            Series series = dataset.get( i );
-            SeriesData data = series.getData();
-            // find the nearest points, x-wise
-            for ( j = 0; j < data.length(); j++ )
+            public void show( PlotPosition position, List<TrackedValue> values )
             {
-                if ( data.getX( j ) > xPos )
+                StringBuilder builder = new StringBuilder();
+                for ( TrackedValue value : values )
                 {
-                    break;
+                    if ( builder.length() > 0 )
+                    {
+                        builder.append( " | " );
+                    }
+                    builder.append( value.getSeries().getLabel() );
+                    builder.append( " = " );
+                    builder.append( numberFormat.format( value.getY() ) );
                 }
+                tracker.setText( builder.toString() );
             }
 
-            // now interpolate
-            double y;
-            DataPoint p1 = data.get( j - 1 );
-            DataPoint p2 = data.get( j );
-            if ( p1 == null )
-            {
-                y = p2.getY();
-            }
-            else if ( p2 == null )
-            {
-                y = p1.getY();
-            }
-            else
-            {
-                y = p1.getY() + ( p2.getY() - p1.getY() ) * ( xPos - p1.getX() ) / ( p2.getX() - p1.getX() );
-            }
-
-            if ( builder.length() > 0 )
+            @Override
+            public void hide()
             {
-                builder.append( " | " );
+                // the mouse left the plot, the values are no longer tracked
+                tracker.setText( "" );
             }
-            builder.append( series.getLabel() );
-            builder.append( " = " );
-            builder.append( numberFormat.format( y ) );
-        }
-        tracker.setText( builder.toString() );
+        } );
     }
 
     /**
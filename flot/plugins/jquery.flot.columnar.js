@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+/*
+ Flot plugin reading columnar series data.
+
+ A columnar series stores its coordinates in one array per column instead of
+ one small array per datapoint:
+
+ { data: { columnar: true, length: n, head: h, version: v, x: [...], y: [...], z: [...] or null } }
+
+ The columns are usually Float64Array used as circular buffers: the first
+ datapoint is stored at index "head" and the following ones wrap around the end
+ of the columns. "version" is incremented by the owner of the data each time
+ existing datapoints are modified or removed, appending datapoints does not
+ change it.
+
+ The plugin fills the flot datapoints directly from the columns, putting them
+ back in order if needed. The interleaved points are kept on the data object
+ between two calls so only the datapoints appended since the previous call are
+ copied.
+
+ A NaN x or y produces a gap like a null datapoint does.
+
+ Plugins that read the raw data themselves (categories, fillarea) are not
+ supported. When another plugin has already chosen the datapoint format or when
+ steps are enabled, the data is converted to a regular array and flot copies it
+ as usual.
+ */
+(function ($) {
+
+    var fakeInfinity = Number.MAX_VALUE;
+
+    function createFormat(s) {
+        var format = [];
+        format.push({ x: true, number: true, required: true });
+        format.push({ y: true, number: true, required: true });
+
+        if (s.bars.show || (s.lines.show && s.lines.fill)) {
+            var autoscale = !!((s.bars.show && s.bars.zero) || (s.lines.show && s.lines.zero));
+            format.push({ y: true, number: true, required: false, defaultValue: 0, autoscale: autoscale });
+            if (s.bars.horizontal) {
+                delete format[format.length - 1].y;
+                format[format.length - 1].x = true;
+            }
+        }
+        return format;
+    }
+
+    function position(data, i) {
+        var p = i + data.head;
+        return data.head && p >= data.x.length ? p - data.x.length : p;
+    }
+
+    function toArray(data) {
+        var result = new Array(data.length), x = data.x, y = data.y, z = data.z, i, p;
+        for (i = 0; i < data.length; ++i) {
+            p = position(data, i);
+            if (z && z[p] === z[p]) {
+                result[i] = [x[p], y[p], z[p]];
+            } else {
+                result[i] = [x[p], y[p]];
+            }
+        }
+        return result;
+    }
+
+    function toNumber(val) {
+        if (val == Infinity)
+            return fakeInfinity;
+        if (val == -Infinity)
+            return -fakeInfinity;
+        return val;
+    }
+
+    function processRawData(plot, s, data, datapoints) {
+        if (!data || !data.columnar)
+            return;
+
+        if (datapoints.format || (s.lines.show && s.lines.steps)) {
+            s.data = toArray(data);
+            return;
+        }
+
+        var format = createFormat(s), ps = format.length, n = data.length,
+            points = data.points, start = data.synced;
+
+        if (!points || data.syncedVersion !== data.version || data.syncedPointsize !== ps || start > n) {
+            points = data.points = [];
+            start = 0;
+        }
+
+        var x = data.x, y = data.y, z = data.z, i, k, m, p, xv, yv, zv;
+        for (i = start, k = start * ps; i < n; ++i, k += ps) {
+            p = position(data, i);
+            xv = x[p];
+            yv = y[p];
+            if (xv !== xv || yv !== yv) {
+                for (m = 0; m < ps; ++m)
+                    points[k + m] = null;
+                continue;
+            }
+            points[k] = toNumber(xv);
+            points[k + 1] = toNumber(yv);
+            if (ps > 2) {
+                zv = z ? z[p] : NaN;
+                points[k + 2] = zv === zv ? toNumber(zv) : 0;
+            }
+        }
+        points.length = n * ps;
+
+        data.synced = n;
+        data.syncedVersion = data.version;
+        data.syncedPointsize = ps;
+
+        datapoints.format = format;
+        datapoints.pointsize = ps;
+        datapoints.points = points;
+
+        // flot only flags the axes as used when it copies the data itself
+        s.xaxis.used = s.yaxis.used = true;
+    }
+
+    function init(plot) {
+        plot.hooks.processRawData.push(processRawData);
+    }
+
+    $.plot.plugins.push({
+        init: init,
+        name: "columnar",
+        version: "1.0"
+    });
+})(jQuery);
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+/*
+ Flot plugin reducing the datapoints of a line before it is drawn.
+
+ The plugin supports these options:
+
+ series: {
+     lines: {
+         pixelCulling: false
+     }
+ }
+
+ When enabled, the consecutive datapoints falling in the same pixel column are
+ replaced by the first, lowest, highest and last of them, in their original
+ order, so they are drawn as a vertical stroke. The datapoints outside the x
+ range of the axis are skipped, except the ones next to the range so the lines
+ crossing the borders are still drawn. The number of canvas calls then depends
+ on the width of the plot instead of the number of datapoints.
+
+ Gaps (null datapoints) are kept. The datapoints are only replaced while flot
+ draws the series, hover and click still use all of them.
+
+ The culling is not applied to the series showing points or bars, or whose x
+ values are not in ascending order.
+ */
+(function ($) {
+
+    var options = {
+        series: {
+            lines: {
+                pixelCulling: false
+            }
+        }
+    };
+
+    // the culled datapoints, null if the series cannot be culled
+    function cull(series) {
+        var points = series.datapoints.points, ps = series.datapoints.pointsize, axis = series.xaxis,
+            n = points.length / ps, result = [],
+            column = null, first = -1, low = -1, high = -1, last = -1,
+            before = -1, previousX = -Infinity, i, j, x, y;
+
+        function pushPoint(index) {
+            for (var k = 0; k < ps; ++k)
+                result.push(points[index * ps + k]);
+        }
+
+        // pushes the first, lowest, highest and last datapoints of the column in their original order
+        function flush() {
+            if (column === null)
+                return;
+            var indexes = [first, low, high, last].sort(function (a, b) { return a - b; }), previous = -1;
+            for (var k = 0; k < indexes.length; ++k) {
+                if (indexes[k] != previous)
+                    pushPoint(indexes[k]);
+                previous = indexes[k];
+            }
+            column = null;
+        }
+
+        for (i = 0; i < n; ++i) {
+            x = points[i * ps];
+            if (x == null) {
+                flush();
+                before = -1;
+                for (j = 0; j < ps; ++j)
+                    result.push(null);
+                continue;
+            }
+            if (x < previousX)
+                return null;
+            previousX = x;
+
+            if (x < axis.min) {
+                // only the last datapoint before the range is needed
+                before = i;
+                continue;
+            }
+            if (before >= 0) {
+                pushPoint(before);
+                before = -1;
+            }
+
+            var c = Math.floor(axis.p2c(x));
+            y = points[i * ps + 1];
+            if (c !== column) {
+                flush();
+                column = c;
+                first = low = high = last = i;
+            } else {
+                if (y < points[low * ps + 1])
+                    low = i;
+                if (y > points[high * ps + 1])
+                    high = i;
+                last = i;
+            }
+
+            if (x > axis.max) {
+                // the first datapoint after the range ends the line
+                break;
+            }
+        }
+        flush();
+        if (before >= 0)
+            pushPoint(before);
+        return result;
+    }
+
+    function init(plot) {
+        var culled = [];
+
+        function restore() {
+            for (var i = 0; i < culled.length; ++i)
+                culled[i].series.datapoints.points = culled[i].points;
+            culled = [];
+        }
+
+        plot.hooks.drawSeries.push(function (plot, ctx, series) {
+            // the previous series has been drawn
+            restore();
+
+            if (!series.lines.show || !series.lines.pixelCulling || series.points.show || series.bars.show)
+                return;
+
+            var points = cull(series);
+            if (points) {
+                culled.push({ series: series, points: series.datapoints.points });
+                series.datapoints.points = points;
+            }
+        });
+
+        plot.hooks.draw.push(function () {
+            restore();
+        });
+    }
+
+    $.plot.plugins.push({
+        init: init,
+        options: options,
+        name: "culling",
+        version: "1.0"
+    });
+})(jQuery);
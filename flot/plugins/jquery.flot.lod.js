@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+/*
+ Flot plugin switching off the costly features of the dense series.
+
+ The plugin supports these options:
+
+ series: {
+     lod: {
+         shadow: null,
+         points: null,
+         fill: null
+     }
+ }
+
+ Each option is a density, in datapoints per pixel, above which a feature is
+ not drawn. The density of a series is the number of its datapoints inside the
+ x range of its axis divided by the width of the plot, so it is decided again
+ on each draw and the features come back when the user zooms in. A null value
+ never switches the feature off.
+
+ - shadow: the shadows of the lines and points
+ - points: the point markers of the series also showing lines or bars, a
+   series only showing points keeps them
+ - fill: the fill below the lines and the areas of the fill-area plugin. The
+   series created by the threshold plugin follow the options of their series.
+
+ The options are only changed while flot draws the series, hover and click are
+ not affected. The drawSeries hook of this plugin runs before the hooks of the
+ other plugins so they see the features switched off, and the options are
+ restored after all the draw hooks. The sorted x values of the series are
+ computed once when the datapoints are processed, the density is then found
+ with a binary search.
+ */
+(function ($) {
+
+    var options = {
+        series: {
+            lod: {
+                shadow: null,
+                points: null,
+                fill: null
+            }
+        }
+    };
+
+    function isEnabled(lod) {
+        return lod && (lod.shadow != null || lod.points != null || lod.fill != null);
+    }
+
+    // the sorted x values of the datapoints, the nulls being left out
+    function getSortedX(series) {
+        var points = series.datapoints.points, ps = series.datapoints.pointsize, count = 0, sorted = true, i;
+        for (i = 0; i < points.length; i += ps) {
+            if (points[i] != null)
+                count++;
+        }
+        var xs = typeof Float64Array != "undefined" ? new Float64Array(count) : new Array(count), k = 0;
+        for (i = 0; i < points.length; i += ps) {
+            var x = points[i];
+            if (x != null) {
+                if (k > 0 && x < xs[k - 1])
+                    sorted = false;
+                xs[k++] = x;
+            }
+        }
+        if (!sorted)
+            Array.prototype.sort.call(xs, function (a, b) { return a - b; });
+        return xs;
+    }
+
+    // index of the first value greater than x, or greater than or equal to x when strict is false
+    function bound(xs, x, strict) {
+        var low = 0, high = xs.length;
+        while (low < high) {
+            var mid = (low + high) >> 1;
+            if (xs[mid] < x || (strict && xs[mid] == x))
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    // the number of datapoints inside the x range per pixel
+    function getDensity(plot, series) {
+        var xs = series.lodSortedX, axis = series.xaxis;
+        return (bound(xs, axis.max, true) - bound(xs, axis.min, false)) / Math.max(1, plot.width());
+    }
+
+    function isAbove(density, threshold) {
+        return threshold != null && density > threshold;
+    }
+
+    function init(plot) {
+        var changed = [];
+
+        function switchOff(target, key, value) {
+            changed.push({ target: target, key: key, value: target[key] });
+            target[key] = value;
+        }
+
+        function restore() {
+            for (var i = changed.length - 1; i >= 0; --i)
+                changed[i].target[changed[i].key] = changed[i].value;
+            changed = [];
+        }
+
+        plot.hooks.processDatapoints.push(function (plot, series) {
+            // the density only depends on the x range at draw time
+            series.lodSortedX = isEnabled(series.lod) ? getSortedX(series) : null;
+        });
+
+        plot.hooks.drawSeries.unshift(function (plot, ctx, series) {
+            if (!isEnabled(series.lod) || !series.lodSortedX)
+                return;
+
+            var lod = series.lod, density = getDensity(plot, series);
+            if (isAbove(density, lod.shadow) && series.shadowSize > 0)
+                switchOff(series, "shadowSize", 0);
+            if (isAbove(density, lod.points) && series.points.show && (series.lines.show || series.bars.show))
+                switchOff(series.points, "show", false);
+            if (isAbove(density, lod.fill)) {
+                if (series.lines.fill)
+                    switchOff(series.lines, "fill", false);
+                if (series.fillArea)
+                    switchOff(series, "fillArea", null);
+            }
+        });
+
+        plot.hooks.processOptions.push(function (plot) {
+            // the options of all the series are restored once the plot is drawn. The hook is added once the hooks of
+            // the other plugins and of the options are, so the plugins drawing in the draw hook, like the sprites,
+            // still see the features switched off.
+            plot.hooks.draw.push(function () {
+                restore();
+            });
+        });
+    }
+
+    $.plot.plugins.push({
+        init: init,
+        options: options,
+        name: "lod",
+        version: "1.0"
+    });
+})(jQuery);
@@ -0,0 +1,390 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+/*
+ Flot plugin finding the datapoint under the mouse with an index.
+
+ The plugin supports these options:
+
+ grid: {
+     nearestIndex: false
+ }
+
+ When enabled, the "plothover" and "plotclick" events are triggered by this
+ plugin instead of flot, with the same arguments and the same automatic
+ highlighting, but the nearest datapoint is found without walking all the
+ datapoints of all the series:
+
+ - the series showing lines, or vertical bars, whose x values are ascending are
+   searched by binary search on x
+ - the other series are searched with a uniform grid over their datapoints
+
+ The index of a series is built the first time the series is searched after
+ its data has been processed. Flot fills a new datapoints array each time it
+ processes the data, so the index is kept as long as the series has the same
+ datapoints array. The columnar plugin reuses the array while datapoints are
+ only appended and its "version" is unchanged: the index is then extended with
+ the new datapoints instead of being built again. The datapoints must not be
+ modified in place otherwise.
+
+ The search is also available as plot.findNearbyItem(canvasX, canvasY,
+ seriesFilter), whether the option is enabled or not, with the canvas
+ coordinates relative to the plot area.
+ */
+(function ($) {
+
+    var options = {
+        grid: {
+            nearestIndex: false
+        }
+    };
+
+    // average number of datapoints per cell of the grid index
+    var CELL_SIZE = 16;
+
+    function lowerBound(values, value) {
+        var low = 0, high = values.length;
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (values[middle] < value)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    // extends the sorted index with the datapoints from the given offset, false if the x values are not ascending
+    function extendSorted(index, points, ps, from) {
+        for (var j = from; j < points.length; j += ps) {
+            var x = points[j];
+            if (x == null)
+                continue;
+            if (x < index.lastX)
+                return false;
+            index.xs.push(x);
+            index.ids.push(j / ps);
+            index.lastX = x;
+        }
+        return true;
+    }
+
+    function createSortedIndex(points, ps) {
+        var index = { sorted: true, xs: [], ids: [], lastX: -Infinity };
+        return extendSorted(index, points, ps, 0) ? index : null;
+    }
+
+    function getColumn(index, x) {
+        return Math.max(0, Math.min(index.size - 1, Math.floor((x - index.minX) / index.cellWidth)));
+    }
+
+    function getRow(index, y) {
+        return Math.max(0, Math.min(index.size - 1, Math.floor((y - index.minY) / index.cellHeight)));
+    }
+
+    // extends the grid index with the datapoints from the given offset, false if the grid has to be built again
+    function extendGrid(index, points, ps, from) {
+        for (var j = from; j < points.length; j += ps) {
+            var x = points[j], y = points[j + 1];
+            if (x == null || y == null)
+                continue;
+            // the datapoints outside the extent of the grid go to the cells of its borders
+            if (x < index.minX || x > index.maxX || y < index.minY || y > index.maxY)
+                index.outside++;
+            var cell = getColumn(index, x) + getRow(index, y) * index.size;
+            (index.cells[cell] || (index.cells[cell] = [])).push(j / ps);
+            index.count++;
+        }
+        return index.outside <= index.built / 4 && index.count <= 2 * index.built;
+    }
+
+    function createGridIndex(points, ps) {
+        var minX = Infinity, maxX = -Infinity, minY = Infinity, maxY = -Infinity, count = 0;
+        for (var j = 0; j < points.length; j += ps) {
+            var x = points[j], y = points[j + 1];
+            if (x == null || y == null)
+                continue;
+            minX = Math.min(minX, x);
+            maxX = Math.max(maxX, x);
+            minY = Math.min(minY, y);
+            maxY = Math.max(maxY, y);
+            count++;
+        }
+        if (!count)
+            minX = maxX = minY = maxY = 0;
+
+        var size = Math.max(1, Math.ceil(Math.sqrt(count / CELL_SIZE))),
+            index = {
+                sorted: false, size: size, cells: [], built: count, count: 0, outside: 0,
+                minX: minX, maxX: maxX, minY: minY, maxY: maxY,
+                cellWidth: (maxX - minX) / size || 1, cellHeight: (maxY - minY) / size || 1
+            };
+        extendGrid(index, points, ps, 0);
+        return index;
+    }
+
+    // the range of values within the given distance in pixels of the canvas coordinate
+    function getRange(axis, c, distance) {
+        var a = axis.c2p(c - distance), b = axis.c2p(c + distance);
+        return a < b ? [a, b] : [b, a];
+    }
+
+    function init(plot) {
+        var caches = [], enabled = false, hoverable = false, clickable = false,
+            eventHolder = null, autoHighlights = [];
+
+        // the version of the columnar data of the series, null for the other data
+        function getVersion(s) {
+            return s.data && s.data.columnar ? s.data.version : null;
+        }
+
+        // whether the datapoints indexed are the same, possibly with datapoints appended since
+        function isAppend(cache, s) {
+            return cache.points === s.datapoints.points && cache.version === getVersion(s) &&
+                cache.points.length >= cache.length;
+        }
+
+        // the index of the i-th series, built or extended if the datapoints changed
+        function getIndex(i, s) {
+            var points = s.datapoints.points, ps = s.datapoints.pointsize, cache = caches[i],
+                sorted = !!(s.lines.show || (s.bars.show && !s.bars.horizontal)), index = null;
+
+            if (cache && cache.ps == ps && cache.sorted == sorted && isAppend(cache, s)) {
+                index = cache.index;
+                if (cache.length == points.length)
+                    return index;
+                if (!(index.sorted ? extendSorted : extendGrid)(index, points, ps, cache.length))
+                    index = null;
+            }
+
+            if (!index && sorted)
+                index = createSortedIndex(points, ps);
+            if (!index)
+                index = createGridIndex(points, ps);
+
+            caches[i] = {
+                index: index, ps: ps, sorted: sorted, points: points, length: points.length, version: getVersion(s)
+            };
+            return index;
+        }
+
+        // calls the visitor for the indexes of the datapoints that may be in the given ranges
+        function visit(index, rx, ry, visitor) {
+            var k;
+            if (index.sorted) {
+                for (k = lowerBound(index.xs, rx[0]); k < index.xs.length && index.xs[k] <= rx[1]; ++k)
+                    visitor(index.ids[k]);
+                return;
+            }
+            var c0 = getColumn(index, rx[0]), c1 = getColumn(index, rx[1]),
+                r0 = getRow(index, ry[0]), r1 = getRow(index, ry[1]);
+            for (var r = r0; r <= r1; ++r) {
+                for (var c = c0; c <= c1; ++c) {
+                    var cell = index.cells[c + r * index.size];
+                    if (cell) {
+                        for (k = 0; k < cell.length; ++k)
+                            visitor(cell[k]);
+                    }
+                }
+            }
+        }
+
+        // same result as the search of flot
+        function findNearbyItem(mouseX, mouseY, seriesFilter) {
+            var series = plot.getData(), maxDistance = plot.getOptions().grid.mouseActiveRadius,
+                smallestDistance = maxDistance * maxDistance + 1, item = null, i;
+
+            for (i = series.length - 1; i >= 0; --i) {
+                var s = series[i];
+                if (!seriesFilter(s) || !(s.lines.show || s.points.show || s.bars.show))
+                    continue;
+
+                var points = s.datapoints.points, ps = s.datapoints.pointsize,
+                    axisx = s.xaxis, axisy = s.yaxis, index = getIndex(i, s);
+
+                if (s.lines.show || s.points.show) {
+                    var rx = getRange(axisx, mouseX, maxDistance), ry = getRange(axisy, mouseY, maxDistance),
+                        found = -1;
+
+                    visit(index, rx, ry, function (j) {
+                        var x = points[j * ps], y = points[j * ps + 1];
+                        if (x == null || y == null || x < rx[0] || x > rx[1] || y < ry[0] || y > ry[1])
+                            return;
+                        var dx = axisx.p2c(x) - mouseX, dy = axisy.p2c(y) - mouseY, dist = dx * dx + dy * dy;
+                        // flot keeps the first datapoint of the series at the smallest distance
+                        if (dist < smallestDistance || (dist == smallestDistance && found >= 0 && j < found)) {
+                            smallestDistance = dist;
+                            found = j;
+                        }
+                    });
+                    if (found >= 0)
+                        item = [i, found];
+                }
+
+                if (s.bars.show && !item) {
+                    var barLeft, mx = axisx.c2p(mouseX), my = axisy.c2p(mouseY), horizontal = s.bars.horizontal;
+                    switch (s.bars.align) {
+                        case "left":
+                            barLeft = 0;
+                            break;
+                        case "right":
+                            barLeft = -s.bars.barWidth;
+                            break;
+                        default:
+                            barLeft = -s.bars.barWidth / 2;
+                    }
+                    var barRight = barLeft + s.bars.barWidth;
+
+                    var testBar = function (j) {
+                        var x = points[j * ps], y = points[j * ps + 1], b = points[j * ps + 2];
+                        if (x == null)
+                            return;
+                        // flot keeps the last bar under the mouse
+                        if (horizontal ?
+                            (mx <= Math.max(b, x) && mx >= Math.min(b, x) && my >= y + barLeft && my <= y + barRight) :
+                            (mx >= x + barLeft && mx <= x + barRight && my >= Math.min(b, y) && my <= Math.max(b, y)))
+                            item = [i, j];
+                    };
+
+                    if (index.sorted && !horizontal) {
+                        visit(index, [mx - barRight, mx - barLeft], null, testBar);
+                    } else {
+                        for (var j = 0; j < points.length / ps; ++j)
+                            testBar(j);
+                    }
+                }
+            }
+
+            if (!item)
+                return null;
+
+            var s = series[item[0]], size = s.datapoints.pointsize;
+            return {
+                datapoint: s.datapoints.points.slice(item[1] * size, (item[1] + 1) * size),
+                dataIndex: item[1],
+                series: s,
+                seriesIndex: item[0]
+            };
+        }
+
+        // same as flot
+        function triggerClickHoverEvent(eventname, event, seriesFilter) {
+            var offset = eventHolder.offset(), plotOffset = plot.getPlotOffset(),
+                canvasX = event.pageX - offset.left - plotOffset.left,
+                canvasY = event.pageY - offset.top - plotOffset.top,
+                pos = plot.c2p({ left: canvasX, top: canvasY });
+
+            pos.pageX = event.pageX;
+            pos.pageY = event.pageY;
+
+            var item = findNearbyItem(canvasX, canvasY, seriesFilter);
+
+            if (item) {
+                item.pageX = parseInt(item.series.xaxis.p2c(item.datapoint[0]) + offset.left + plotOffset.left, 10);
+                item.pageY = parseInt(item.series.yaxis.p2c(item.datapoint[1]) + offset.top + plotOffset.top, 10);
+            }
+
+            if (plot.getOptions().grid.autoHighlight) {
+                for (var i = autoHighlights.length - 1; i >= 0; --i) {
+                    var h = autoHighlights[i];
+                    if (h.auto == eventname &&
+                        !(item && h.series == item.series && h.point[0] == item.datapoint[0] && h.point[1] == item.datapoint[1])) {
+                        plot.unhighlight(h.series, h.point);
+                        autoHighlights.splice(i, 1);
+                    }
+                }
+
+                if (item) {
+                    plot.highlight(item.series, item.datapoint, eventname);
+                    autoHighlights.push({ series: item.series, point: item.datapoint, auto: eventname });
+                }
+            }
+
+            plot.getPlaceholder().trigger(eventname, [pos, item]);
+        }
+
+        function onMouseMove(e) {
+            if (plot.getOptions().grid.hoverable)
+                triggerClickHoverEvent("plothover", e, function (s) { return s["hoverable"] != false; });
+        }
+
+        function onMouseLeave(e) {
+            if (plot.getOptions().grid.hoverable)
+                triggerClickHoverEvent("plothover", e, function (s) { return false; });
+        }
+
+        function onClick(e) {
+            triggerClickHoverEvent("plotclick", e, function (s) { return s["clickable"] != false; });
+        }
+
+        plot.findNearbyItem = findNearbyItem;
+
+        plot.hooks.processOptions.push(function (plot, options) {
+            enabled = options.grid.nearestIndex;
+            if (enabled) {
+                // flot does not bind its handlers, these ones are bound instead
+                hoverable = options.grid.hoverable;
+                clickable = options.grid.clickable;
+                options.grid.hoverable = false;
+                options.grid.clickable = false;
+            }
+        });
+
+        // before the other plugins so they see the options given by the user
+        plot.hooks.bindEvents.unshift(function (plot, holder) {
+            if (!enabled)
+                return;
+
+            var grid = plot.getOptions().grid;
+            grid.hoverable = hoverable;
+            grid.clickable = clickable;
+            eventHolder = holder;
+            if (hoverable) {
+                holder.mousemove(onMouseMove);
+                holder.bind("mouseleave", onMouseLeave);
+            }
+            if (clickable)
+                holder.click(onClick);
+        });
+
+        plot.hooks.shutdown.push(function (plot, holder) {
+            if (eventHolder) {
+                eventHolder.unbind("mousemove", onMouseMove);
+                eventHolder.unbind("mouseleave", onMouseLeave);
+                eventHolder.unbind("click", onClick);
+            }
+            eventHolder = null;
+            caches = [];
+            autoHighlights = [];
+        });
+    }
+
+    $.plot.plugins.push({
+        init: init,
+        options: options,
+        name: "nearest",
+        version: "1.0"
+    });
+})(jQuery);
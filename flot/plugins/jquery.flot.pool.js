@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+/*
+ Flot plugin reusing the text layer of the previous plot created in the same
+ placeholder.
+
+ Flot already reuses the "flot-base" and "flot-overlay" canvases when a plot
+ is created again in a placeholder, but it removes the "flot-text" layer and
+ starts with an empty text cache, so all the tick labels are created and
+ measured again. With this plugin, the new surface adopts the text layer and
+ the cache of the previous surface drawn on the same canvas: the labels that
+ did not change are neither created nor measured again, and the DOM nodes of
+ the previous plot are not left to the garbage collector.
+
+ The plugin has no option.
+ */
+(function ($) {
+
+    var patched = false;
+
+    // the methods of the surfaces using the text cache
+    var methods = ["getTextLayer", "getTextInfo", "addText", "removeText", "render"];
+
+    // gives the text layer and cache of the previous surface of the canvas to the given surface
+    function adopt(surface) {
+        if (surface.pooled)
+            return;
+        surface.pooled = true;
+
+        var element = surface.element, previous = element.flotSurface;
+        element.flotSurface = surface;
+        if (!previous || previous.textContainer == null || surface.textContainer != null)
+            return;
+
+        surface.textContainer = previous.textContainer.insertAfter(element);
+        surface.text = previous.text;
+        surface._textCache = previous._textCache;
+        previous.textContainer = null;
+        previous.text = {};
+        previous._textCache = {};
+    }
+
+    function patch(Canvas) {
+        if (patched)
+            return;
+        patched = true;
+
+        $.each(methods, function (i, name) {
+            var method = Canvas.prototype[name];
+            Canvas.prototype[name] = function () {
+                adopt(this);
+                return method.apply(this, arguments);
+            };
+        });
+    }
+
+    function init(plot, classes) {
+        patch(classes.Canvas);
+
+        plot.hooks.processOptions.push(function (plot) {
+            // flot removes everything but its canvases, the text layer is kept aside until the new surface adopts it
+            plot.getPlaceholder().children(".flot-text").detach();
+        });
+    }
+
+    $.plot.plugins.push({
+        init: init,
+        name: "pool",
+        version: "1.0"
+    });
+})(jQuery);
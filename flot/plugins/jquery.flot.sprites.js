@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+/*
+ Flot plugin drawing the points of a series by stamping pre-rendered sprites.
+
+ The plugin supports these options:
+
+ series: {
+     points: {
+         sprite: false
+     }
+ }
+
+ When enabled, the symbol of the series is rendered once, with its radius,
+ line width, colors and shadow, into an offscreen canvas. Each point is then
+ drawn with a single drawImage call instead of building, filling and stroking
+ a path, which makes the scatter series with many points much faster to draw.
+ The points are aligned on the device pixels.
+
+ The sprites work with the "circle" symbol, the symbols of the symbol plugin
+ and the custom symbol functions. A series whose fill color is a gradient is
+ drawn by flot as usual.
+
+ The sprites are cached by the plot, and the points are stamped after the
+ lines and bars of their series like flot does.
+ */
+(function ($) {
+
+    var options = {
+        series: {
+            points: {
+                sprite: false
+            }
+        }
+    };
+
+    // the cache is cleared when it reaches this number of sprites
+    var MAX_SPRITES = 256;
+
+    // identifies the symbol functions in the keys of the sprites
+    var symbolCount = 0;
+
+    function getSymbolKey(symbol) {
+        if (typeof symbol != "function")
+            return symbol;
+        if (!symbol.spriteId)
+            symbol.spriteId = "f" + (++symbolCount);
+        return symbol.spriteId;
+    }
+
+    // same as flot, undefined for a gradient
+    function getFillStyle(points, color) {
+        if (!points.fill)
+            return null;
+        if (points.fillColor)
+            return typeof points.fillColor == "string" ? points.fillColor : undefined;
+        var c = $.color.parse(color);
+        c.a = typeof points.fill == "number" ? points.fill : 0.4;
+        c.normalize();
+        return c.toString();
+    }
+
+    function drawSymbol(ctx, symbol, x, y, radius, fillStyle, shadow) {
+        ctx.beginPath();
+        if (symbol == "circle")
+            ctx.arc(x, y, radius, 0, shadow ? Math.PI : Math.PI * 2, false);
+        else
+            symbol(ctx, x, y, radius, shadow);
+        ctx.closePath();
+
+        if (fillStyle) {
+            ctx.fillStyle = fillStyle;
+            ctx.fill();
+        }
+        ctx.stroke();
+    }
+
+    function createCanvas(centre, ratio) {
+        var canvas = document.createElement("canvas");
+        canvas.width = canvas.height = 2 * centre;
+        var ctx = canvas.getContext("2d");
+        ctx.scale(ratio, ratio);
+        return { canvas: canvas, context: ctx };
+    }
+
+    function init(plot) {
+        var sprites = {}, spriteCount = 0, pending = [];
+
+        function getSprite(series, fillStyle, shadowSize, ratio) {
+            var p = series.points, symbol = p.symbol, radius = p.radius,
+                lw = p.lineWidth == 0 ? 0.0001 : p.lineWidth,
+                sw = lw > 0 && shadowSize > 0 ? shadowSize : 0,
+                key = [getSymbolKey(symbol), radius, lw, sw, series.color, fillStyle, ratio].join("|"),
+                sprite = sprites[key];
+            if (sprite)
+                return sprite;
+
+            if (spriteCount >= MAX_SPRITES) {
+                sprites = {};
+                spriteCount = 0;
+            }
+
+            // large enough for the symbols of the symbol plugin, the triangle being the largest
+            var centre = Math.ceil((3 * radius + lw + sw + 1) * ratio), c = centre / ratio, layer;
+            sprite = { centre: centre, shadow: null };
+
+            if (sw > 0) {
+                // same two steps as flot
+                var w = sw / 2;
+                layer = createCanvas(centre, ratio);
+                layer.context.lineWidth = w;
+                layer.context.strokeStyle = "rgba(0,0,0,0.1)";
+                drawSymbol(layer.context, symbol, c, c + w + w / 2, radius, null, true);
+                layer.context.strokeStyle = "rgba(0,0,0,0.2)";
+                drawSymbol(layer.context, symbol, c, c + w / 2, radius, null, true);
+                sprite.shadow = layer.canvas;
+            }
+
+            layer = createCanvas(centre, ratio);
+            layer.context.lineWidth = lw;
+            layer.context.strokeStyle = series.color;
+            drawSymbol(layer.context, symbol, c, c, radius, fillStyle, false);
+            sprite.main = layer.canvas;
+
+            sprites[key] = sprite;
+            spriteCount++;
+            return sprite;
+        }
+
+        function stamp(ctx, series, image, centre, ratio) {
+            var points = series.datapoints.points, ps = series.datapoints.pointsize,
+                axisx = series.xaxis, axisy = series.yaxis, offset = plot.getPlotOffset(),
+                size = image.width / ratio;
+
+            for (var i = 0; i < points.length; i += ps) {
+                var x = points[i], y = points[i + 1];
+                if (x == null || y == null || x < axisx.min || x > axisx.max || y < axisy.min || y > axisy.max)
+                    continue;
+
+                x = Math.round((offset.left + axisx.p2c(x)) * ratio) - centre;
+                y = Math.round((offset.top + axisy.p2c(y)) * ratio) - centre;
+                ctx.drawImage(image, x / ratio, y / ratio, size, size);
+            }
+        }
+
+        function drawPending(ctx) {
+            if (!pending.length)
+                return;
+
+            var canvas = plot.getCanvas(), width = $(canvas).width(),
+                ratio = width > 0 ? canvas.width / width : 1;
+
+            for (var i = 0; i < pending.length; ++i) {
+                var series = pending[i].series,
+                    sprite = getSprite(series, pending[i].fillStyle, pending[i].shadowSize, ratio);
+                // all the shadows are drawn before the symbols like flot does
+                if (sprite.shadow)
+                    stamp(ctx, series, sprite.shadow, sprite.centre, ratio);
+                stamp(ctx, series, sprite.main, sprite.centre, ratio);
+                series.points.show = true;
+            }
+            pending = [];
+        }
+
+        plot.hooks.drawSeries.push(function (plot, ctx, series) {
+            // the lines and bars of the previous series have been drawn
+            drawPending(ctx);
+
+            var p = series.points;
+            if (!p.show || !p.sprite || (p.symbol != "circle" && typeof p.symbol != "function"))
+                return;
+
+            var fillStyle = getFillStyle(p, series.color);
+            if (fillStyle === undefined)
+                return;
+
+            // flot skips the points, they are stamped once the series is drawn. The shadow size is kept as it is now
+            // since other plugins may change it for the draw of the series only.
+            p.show = false;
+            pending.push({ series: series, fillStyle: fillStyle, shadowSize: series.shadowSize });
+        });
+
+        plot.hooks.draw.push(function (plot, ctx) {
+            drawPending(ctx);
+        });
+
+        plot.hooks.shutdown.push(function () {
+            sprites = {};
+            spriteCount = 0;
+            pending = [];
+        });
+    }
+
+    $.plot.plugins.push({
+        init: init,
+        options: options,
+        name: "sprites",
+        version: "1.0"
+    });
+})(jQuery);
@@ -0,0 +1,447 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+/*
+ Flot plugin drawing the grid on a separate canvas.
+
+ When enabled, the background, markings, ticks and border of the grid are drawn
+ on a "flot-static" canvas placed under the "flot-base" canvas, and flot only
+ draws the series on "flot-base". The tick labels are not affected.
+
+ The layer is cached: it is only drawn again when the size of the canvas, the
+ plot area, the range or the ticks of an axis change. When the options of the
+ grid are modified on an existing plot, or when the markings are given by a
+ function whose result changes, call plot.invalidateStaticLayer().
+
+ When the plot is shut down, the layer is kept aside and reused by the next
+ plot created on the same canvas.
+
+ The plugin supports these options:
+
+ grid: {
+     staticLayer: false
+ }
+
+ Other plugins can draw the layer themselves with plot.drawStaticLayer(),
+ which only draws it if it is not up to date.
+
+ The layer is only used by plot.draw(). The first draw made by flot when the
+ plot is created draws the grid on "flot-base" as usual. A grid drawn above the
+ data is always drawn on "flot-base".
+ */
+(function ($) {
+
+    var options = {
+        grid: {
+            staticLayer: false
+        }
+    };
+
+    function getColorOrGradient(ctx, spec, bottom, top, defaultColor) {
+        if (typeof spec == "string")
+            return spec;
+
+        var gradient = ctx.createLinearGradient(0, top, 0, bottom);
+        for (var i = 0, l = spec.colors.length; i < l; ++i) {
+            var c = spec.colors[i];
+            if (typeof c != "string") {
+                var co = $.color.parse(defaultColor);
+                if (c.brightness != null)
+                    co = co.scale('rgb', c.brightness);
+                if (c.opacity != null)
+                    co.a *= c.opacity;
+                c = co.toString();
+            }
+            gradient.addColorStop(i / (l - 1), c);
+        }
+        return gradient;
+    }
+
+    function extractRange(plot, ranges, coord) {
+        var axis, from, to, key, axes = coord == "x" ? plot.getXAxes() : plot.getYAxes();
+
+        for (var i = 0; i < axes.length; ++i) {
+            axis = axes[i];
+            if (axis) {
+                key = coord + axis.n + "axis";
+                if (!ranges[key] && axis.n == 1)
+                    key = coord + "axis"; // support x1axis as xaxis
+                if (ranges[key]) {
+                    from = ranges[key].from;
+                    to = ranges[key].to;
+                    break;
+                }
+            }
+        }
+
+        if (!ranges[key]) {
+            axis = axes[0];
+            from = ranges[coord + "1"];
+            to = ranges[coord + "2"];
+        }
+
+        if (from != null && to != null && from > to) {
+            var tmp = from;
+            from = to;
+            to = tmp;
+        }
+
+        return { from: from, to: to, axis: axis };
+    }
+
+    // same drawing as the drawBackground and drawGrid functions of flot
+
+    function drawBackground(plot, ctx) {
+        var plotOffset = plot.getPlotOffset(), plotHeight = plot.height();
+
+        ctx.save();
+        ctx.translate(plotOffset.left, plotOffset.top);
+        ctx.fillStyle = getColorOrGradient(ctx, plot.getOptions().grid.backgroundColor, plotHeight, 0, "rgba(255, 255, 255, 0)");
+        ctx.fillRect(0, 0, plot.width(), plotHeight);
+        ctx.restore();
+    }
+
+    function drawMarkings(plot, ctx, markings) {
+        var grid = plot.getOptions().grid, axes, i;
+
+        if ($.isFunction(markings)) {
+            axes = plot.getAxes();
+            axes.xmin = axes.xaxis.min;
+            axes.xmax = axes.xaxis.max;
+            axes.ymin = axes.yaxis.min;
+            axes.ymax = axes.yaxis.max;
+
+            markings = markings(axes);
+        }
+
+        for (i = 0; i < markings.length; ++i) {
+            var m = markings[i],
+                xrange = extractRange(plot, m, "x"),
+                yrange = extractRange(plot, m, "y");
+
+            if (xrange.from == null)
+                xrange.from = xrange.axis.min;
+            if (xrange.to == null)
+                xrange.to = xrange.axis.max;
+            if (yrange.from == null)
+                yrange.from = yrange.axis.min;
+            if (yrange.to == null)
+                yrange.to = yrange.axis.max;
+
+            if (xrange.to < xrange.axis.min || xrange.from > xrange.axis.max ||
+                yrange.to < yrange.axis.min || yrange.from > yrange.axis.max)
+                continue;
+
+            xrange.from = Math.max(xrange.from, xrange.axis.min);
+            xrange.to = Math.min(xrange.to, xrange.axis.max);
+            yrange.from = Math.max(yrange.from, yrange.axis.min);
+            yrange.to = Math.min(yrange.to, yrange.axis.max);
+
+            var xequal = xrange.from === xrange.to,
+                yequal = yrange.from === yrange.to;
+
+            if (xequal && yequal)
+                continue;
+
+            xrange.from = Math.floor(xrange.axis.p2c(xrange.from));
+            xrange.to = Math.floor(xrange.axis.p2c(xrange.to));
+            yrange.from = Math.floor(yrange.axis.p2c(yrange.from));
+            yrange.to = Math.floor(yrange.axis.p2c(yrange.to));
+
+            if (xequal || yequal) {
+                var lineWidth = m.lineWidth || grid.markingsLineWidth,
+                    subPixel = lineWidth % 2 ? 0.5 : 0;
+                ctx.beginPath();
+                ctx.strokeStyle = m.color || grid.markingsColor;
+                ctx.lineWidth = lineWidth;
+                if (xequal) {
+                    ctx.moveTo(xrange.to + subPixel, yrange.from);
+                    ctx.lineTo(xrange.to + subPixel, yrange.to);
+                } else {
+                    ctx.moveTo(xrange.from, yrange.to + subPixel);
+                    ctx.lineTo(xrange.to, yrange.to + subPixel);
+                }
+                ctx.stroke();
+            } else {
+                ctx.fillStyle = m.color || grid.markingsColor;
+                ctx.fillRect(xrange.from, yrange.to, xrange.to - xrange.from, yrange.from - yrange.to);
+            }
+        }
+    }
+
+    function drawTicks(plot, ctx) {
+        var plotOffset = plot.getPlotOffset(), plotWidth = plot.width(), plotHeight = plot.height(),
+            axes = $.grep(plot.getXAxes().concat(plot.getYAxes()), function (a) { return a; }),
+            bw = plot.getOptions().grid.borderWidth, i;
+
+        for (var j = 0; j < axes.length; ++j) {
+            var axis = axes[j], box = axis.box,
+                t = axis.tickLength, x, y, xoff, yoff;
+            if (!axis.show || axis.ticks.length == 0)
+                continue;
+
+            ctx.lineWidth = 1;
+
+            if (axis.direction == "x") {
+                x = 0;
+                if (t == "full")
+                    y = (axis.position == "top" ? 0 : plotHeight);
+                else
+                    y = box.top - plotOffset.top + (axis.position == "top" ? box.height : 0);
+            } else {
+                y = 0;
+                if (t == "full")
+                    x = (axis.position == "left" ? 0 : plotWidth);
+                else
+                    x = box.left - plotOffset.left + (axis.position == "left" ? box.width : 0);
+            }
+
+            if (!axis.innermost) {
+                ctx.strokeStyle = axis.options.color;
+                ctx.beginPath();
+                xoff = yoff = 0;
+                if (axis.direction == "x") {
+                    xoff = plotWidth + 1;
+                    y = Math.floor(y) + 0.5;
+                } else {
+                    yoff = plotHeight + 1;
+                    x = Math.floor(x) + 0.5;
+                }
+                ctx.moveTo(x, y);
+                ctx.lineTo(x + xoff, y + yoff);
+                ctx.stroke();
+            }
+
+            ctx.strokeStyle = axis.options.tickColor;
+            ctx.beginPath();
+            for (i = 0; i < axis.ticks.length; ++i) {
+                var v = axis.ticks[i].v;
+
+                xoff = yoff = 0;
+
+                if (isNaN(v) || v < axis.min || v > axis.max
+                    || (t == "full"
+                        && ((typeof bw == "object" && bw[axis.position] > 0) || bw > 0)
+                        && (v == axis.min || v == axis.max)))
+                    continue;
+
+                if (axis.direction == "x") {
+                    x = Math.floor(axis.p2c(v)) + 0.5;
+                    yoff = t == "full" ? -plotHeight : t;
+                    if (axis.position == "top")
+                        yoff = -yoff;
+                } else {
+                    y = Math.floor(axis.p2c(v)) + 0.5;
+                    xoff = t == "full" ? -plotWidth : t;
+                    if (axis.position == "left")
+                        xoff = -xoff;
+                }
+
+                ctx.moveTo(x, y);
+                ctx.lineTo(x + xoff, y + yoff);
+            }
+            ctx.stroke();
+        }
+    }
+
+    function drawBorder(plot, ctx) {
+        var grid = plot.getOptions().grid, bw = grid.borderWidth, bc = grid.borderColor,
+            plotWidth = plot.width(), plotHeight = plot.height();
+
+        if (!bw)
+            return;
+
+        if (typeof bw == "object" || typeof bc == "object") {
+            if (typeof bw !== "object")
+                bw = { top: bw, right: bw, bottom: bw, left: bw };
+            if (typeof bc !== "object")
+                bc = { top: bc, right: bc, bottom: bc, left: bc };
+
+            if (bw.top > 0) {
+                ctx.strokeStyle = bc.top;
+                ctx.lineWidth = bw.top;
+                ctx.beginPath();
+                ctx.moveTo(0 - bw.left, 0 - bw.top / 2);
+                ctx.lineTo(plotWidth, 0 - bw.top / 2);
+                ctx.stroke();
+            }
+            if (bw.right > 0) {
+                ctx.strokeStyle = bc.right;
+                ctx.lineWidth = bw.right;
+                ctx.beginPath();
+                ctx.moveTo(plotWidth + bw.right / 2, 0 - bw.top);
+                ctx.lineTo(plotWidth + bw.right / 2, plotHeight);
+                ctx.stroke();
+            }
+            if (bw.bottom > 0) {
+                ctx.strokeStyle = bc.bottom;
+                ctx.lineWidth = bw.bottom;
+                ctx.beginPath();
+                ctx.moveTo(plotWidth + bw.right, plotHeight + bw.bottom / 2);
+                ctx.lineTo(0, plotHeight + bw.bottom / 2);
+                ctx.stroke();
+            }
+            if (bw.left > 0) {
+                ctx.strokeStyle = bc.left;
+                ctx.lineWidth = bw.left;
+                ctx.beginPath();
+                ctx.moveTo(0 - bw.left / 2, plotHeight + bw.bottom);
+                ctx.lineTo(0 - bw.left / 2, 0);
+                ctx.stroke();
+            }
+        } else {
+            ctx.lineWidth = bw;
+            ctx.strokeStyle = bc;
+            ctx.strokeRect(-bw / 2, -bw / 2, plotWidth + bw, plotHeight + bw);
+        }
+    }
+
+    function drawGrid(plot, ctx) {
+        var plotOffset = plot.getPlotOffset(), markings = plot.getOptions().grid.markings;
+
+        ctx.save();
+        ctx.translate(plotOffset.left, plotOffset.top);
+        if (markings)
+            drawMarkings(plot, ctx, markings);
+        drawTicks(plot, ctx);
+        drawBorder(plot, ctx);
+        ctx.restore();
+    }
+
+    function init(plot) {
+        var layer = null, draw = plot.draw, drawnKey = null;
+
+        // creates the canvas of the layer or resizes it like the base canvas
+        function getLayer() {
+            var base = plot.getCanvas(), width = $(base).width(), height = $(base).height();
+
+            if (!layer || !layer.element.parentNode) {
+                // reuses the layer of the previous plot drawn on the same canvas
+                layer = base.flotStaticLayer;
+                base.flotStaticLayer = null;
+                if (!layer) {
+                    var element = document.createElement("canvas");
+                    element.className = "flot-static";
+                    $(element).css({ direction: "ltr", position: "absolute", left: 0, top: 0 });
+                    layer = { element: element, context: element.getContext("2d") };
+                }
+                $(layer.element).insertBefore(base);
+                drawnKey = null;
+            }
+
+            if (layer.element.width != base.width || layer.element.height != base.height || layer.width != width || layer.height != height) {
+                layer.element.width = base.width;
+                layer.element.height = base.height;
+                layer.element.style.width = width + "px";
+                layer.element.style.height = height + "px";
+                layer.width = width;
+                layer.height = height;
+                layer.pixelRatio = base.width / width;
+            }
+            return layer;
+        }
+
+        function isUsed() {
+            var grid = plot.getOptions().grid;
+            return grid.show && grid.staticLayer && !grid.aboveData;
+        }
+
+        // everything the layer depends on besides the options
+        function getKey() {
+            var canvas = plot.getCanvas(), offset = plot.getPlotOffset(),
+                key = [canvas.width, canvas.height, offset.left, offset.top, plot.width(), plot.height()],
+                axes = plot.getXAxes().concat(plot.getYAxes());
+
+            for (var i = 0; i < axes.length; ++i) {
+                var axis = axes[i];
+                if (!axis)
+                    continue;
+                key.push(axis.min, axis.max, axis.ticks.length);
+                for (var j = 0; j < axis.ticks.length; ++j)
+                    key.push(axis.ticks[j].v);
+            }
+            return key.join(",");
+        }
+
+        plot.invalidateStaticLayer = function () {
+            drawnKey = null;
+        };
+
+        plot.drawStaticLayer = function () {
+            var l = getLayer(), ctx = l.context, grid = plot.getOptions().grid, key = getKey();
+
+            if (key === drawnKey)
+                return;
+            drawnKey = key;
+
+            ctx.setTransform(1, 0, 0, 1, 0, 0);
+            ctx.clearRect(0, 0, l.element.width, l.element.height);
+            ctx.scale(l.pixelRatio, l.pixelRatio);
+
+            if (grid.backgroundColor)
+                drawBackground(plot, ctx);
+            drawGrid(plot, ctx);
+        };
+
+        plot.draw = function () {
+            if (!isUsed()) {
+                if (layer && drawnKey !== null) {
+                    layer.context.clearRect(0, 0, layer.element.width, layer.element.height);
+                    drawnKey = null;
+                }
+                draw();
+                return;
+            }
+
+            plot.drawStaticLayer();
+
+            // flot only draws the series on the base canvas
+            var grid = plot.getOptions().grid;
+            grid.show = false;
+            try {
+                draw();
+            } finally {
+                grid.show = true;
+            }
+        };
+
+        plot.hooks.shutdown.push(function () {
+            if (layer) {
+                // kept aside for the next plot created on the same canvas
+                $(layer.element).detach();
+                plot.getCanvas().flotStaticLayer = layer;
+            }
+            layer = null;
+            drawnKey = null;
+        });
+    }
+
+    $.plot.plugins.push({
+        init: init,
+        options: options,
+        name: "staticlayer",
+        version: "1.0"
+    });
+})(jQuery);
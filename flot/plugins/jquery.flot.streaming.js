@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+/*
+ Flot plugin scrolling the series of real-time charts instead of drawing them
+ again.
+
+ The plugin supports these options:
+
+ streaming: {
+     enabled: false
+ }
+
+ When enabled, the grid is drawn on the static layer of the staticlayer plugin,
+ which must be loaded before this one. On plot.draw(), if the canvas, the plot
+ area, the ranges of the y axes and the span of the x axes did not change since
+ the previous draw and the datapoints drawn then are still there, the series
+ pixels are copied to the left with drawImage by the distance the x axes moved
+ and only the datapoints appended since the previous draw are drawn, on the
+ right of the last datapoint drawn. Otherwise, the plot is drawn as usual.
+
+ The x values must be in ascending order. Bars and the canvas plugin text
+ rendering are not supported: the plot is then always drawn as usual.
+ */
+(function ($) {
+
+    var options = {
+        streaming: {
+            enabled: false
+        }
+    };
+
+    function init(plot) {
+        var draw = plot.draw, state = null;
+
+        plot.hooks.processOptions.push(function (plot, options) {
+            if (options.streaming.enabled)
+                options.grid.staticLayer = true;
+        });
+
+        // remembers what has been drawn
+        function saveState(carry) {
+            var canvas = plot.getCanvas(), offset = plot.getPlotOffset(), series = plot.getData(),
+                xaxes = plot.getXAxes(), yaxes = plot.getYAxes(), i;
+
+            state = {
+                width: canvas.width,
+                height: canvas.height,
+                cssWidth: $(canvas).width(),
+                left: offset.left,
+                top: offset.top,
+                plotWidth: plot.width(),
+                plotHeight: plot.height(),
+                xaxes: [],
+                yaxes: [],
+                series: [],
+                carry: carry
+            };
+            for (i = 0; i < xaxes.length; ++i)
+                state.xaxes.push(xaxes[i] ? { min: xaxes[i].min, max: xaxes[i].max } : null);
+            for (i = 0; i < yaxes.length; ++i)
+                state.yaxes.push(yaxes[i] ? { min: yaxes[i].min, max: yaxes[i].max } : null);
+            for (i = 0; i < series.length; ++i) {
+                var points = series[i].datapoints.points, ps = series[i].datapoints.pointsize, n = points.length / ps;
+                state.series.push(n > 0 ? { x: points[(n - 1) * ps], y: points[(n - 1) * ps + 1] } : { x: null, y: null });
+            }
+        }
+
+        // distance in pixels the x axes moved to the left, null if the plot cannot be scrolled
+        function getShift() {
+            var options = plot.getOptions(), canvas = plot.getCanvas(), offset = plot.getPlotOffset(),
+                xaxes = plot.getXAxes(), yaxes = plot.getYAxes(), shift = null, i;
+
+            if (!state || !plot.drawStaticLayer || options.canvas || options.grid.aboveData
+                || canvas.width != state.width || canvas.height != state.height
+                || offset.left != state.left || offset.top != state.top
+                || plot.width() != state.plotWidth || plot.height() != state.plotHeight
+                || plot.getData().length != state.series.length
+                || xaxes.length != state.xaxes.length || yaxes.length != state.yaxes.length)
+                return null;
+
+            for (i = 0; i < yaxes.length; ++i) {
+                if (yaxes[i] && (yaxes[i].min !== state.yaxes[i].min || yaxes[i].max !== state.yaxes[i].max))
+                    return null;
+            }
+
+            for (i = 0; i < xaxes.length; ++i) {
+                var axis = xaxes[i], previous = state.xaxes[i];
+                if (!axis || !axis.used)
+                    continue;
+                var span = axis.max - axis.min;
+                if (Math.abs(span - (previous.max - previous.min)) > 1e-9 * Math.abs(span))
+                    return null;
+                var s = (axis.min - previous.min) * axis.scale;
+                if (shift === null)
+                    shift = s;
+                else if (Math.abs(s - shift) > 1e-6)
+                    return null;
+            }
+
+            if (shift === null || shift < 0 || shift >= plot.width())
+                return null;
+            return shift;
+        }
+
+        // index of the last datapoint drawn at the previous draw, -1 if there was none, null if it is gone
+        function findPrevious(s, previous) {
+            var points = s.datapoints.points, ps = s.datapoints.pointsize;
+
+            if (previous.x === null)
+                return previous.y === null && points.length == 0 ? -1 : null;
+
+            for (var j = points.length / ps - 1; j >= 0; --j) {
+                var x = points[j * ps];
+                if (x === null)
+                    continue;
+                if (x < previous.x)
+                    break;
+                if (x === previous.x && points[j * ps + 1] === previous.y)
+                    return j;
+            }
+            return null;
+        }
+
+        function scroll() {
+            var shift = getShift();
+            if (shift === null)
+                return false;
+
+            var series = plot.getData(), offset = plot.getPlotOffset(), i, s;
+
+            // the pixels right of the last datapoint drawn by any series, minus the width of the lines and points,
+            // are drawn again
+            var from = offset.left + plot.width();
+            for (i = 0; i < series.length; ++i) {
+                s = series[i];
+                if (s.bars.show)
+                    return false;
+                var previous = findPrevious(s, state.series[i]);
+                if (previous === null)
+                    return false;
+                if (previous < 0 || !(s.lines.show || s.points.show))
+                    continue;
+                var pad = s.lines.lineWidth / 2 + s.shadowSize + (s.points.show ? s.points.radius + s.points.lineWidth : 0) + 1;
+                from = Math.min(from, offset.left + s.xaxis.p2c(state.series[i].x) - pad);
+            }
+            from = Math.max(from, offset.left);
+
+            var canvas = plot.getCanvas(), ctx = canvas.getContext("2d"),
+                ratio = canvas.width / state.cssWidth,
+                left = Math.round(offset.left * ratio),
+                width = Math.round(plot.width() * ratio),
+                total = shift + state.carry,
+                d = Math.round(total * ratio),
+                clearFrom = Math.min(Math.floor(from * ratio), left + width - d);
+
+            // copies the pixels of the plot area to the left, the rounding error is carried to the next scroll
+            ctx.save();
+            ctx.setTransform(1, 0, 0, 1, 0, 0);
+            if (d > 0)
+                ctx.drawImage(canvas, left + d, 0, width - d, canvas.height, left, 0, width - d, canvas.height);
+            ctx.clearRect(clearFrom, 0, canvas.width - clearFrom, canvas.height);
+            ctx.restore();
+
+            // only the datapoints right of the cleared position are drawn, from the last one before it
+            var saved = [];
+            for (i = 0; i < series.length; ++i) {
+                s = series[i];
+                var points = s.datapoints.points, ps = s.datapoints.pointsize, k = points.length / ps - 1;
+                while (k > 0 && (points[k * ps] === null || offset.left + s.xaxis.p2c(points[k * ps]) >= clearFrom / ratio))
+                    --k;
+                saved.push(points);
+                if (k > 0)
+                    s.datapoints.points = points.slice(k * ps);
+            }
+
+            ctx.save();
+            ctx.beginPath();
+            ctx.rect(clearFrom / ratio, 0, canvas.width / ratio - clearFrom / ratio, canvas.height / ratio);
+            ctx.clip();
+            // the base canvas must not be cleared
+            ctx.clearRect = function () {};
+            try {
+                draw();
+            } finally {
+                delete ctx.clearRect;
+                ctx.restore();
+                for (i = 0; i < series.length; ++i)
+                    series[i].datapoints.points = saved[i];
+            }
+
+            saveState(total - d / ratio);
+            return true;
+        }
+
+        plot.draw = function () {
+            if (!plot.getOptions().streaming.enabled) {
+                draw();
+                return;
+            }
+            if (!scroll()) {
+                draw();
+                saveState(0);
+            }
+        };
+    }
+
+    $.plot.plugins.push({
+        init: init,
+        options: options,
+        name: "streaming",
+        version: "1.0"
+    });
+})(jQuery);
@@ -24,19 +24,34 @@
  */
 package com.googlecode.gflot.client;
 
+import com.googlecode.gflot.client.util.Algorithm;
+
 public class DefaultSeriesDataStrategy
     implements SeriesDataStrategy
 {
     protected final SeriesData data;
 
+    protected final SeriesStatistics statistics;
+
     public DefaultSeriesDataStrategy()
     {
         this( SeriesData.create() );
     }
 
     public DefaultSeriesDataStrategy( SeriesData data )
+    {
+        this( data, false );
+    }
+
+    /**
+     * @param data the data
+     * @param removable true if the strategy removes the first datapoints of the data. The removal must be notified to
+     * the statistics with {@link SeriesStatistics#removeFirst(int)}.
+     */
+    protected DefaultSeriesDataStrategy( SeriesData data, boolean removable )
     {
         this.data = data;
+        this.statistics = new SeriesStatistics( data, removable );
     }
 
     @Override
@@ -45,10 +60,27 @@ public class DefaultSeriesDataStrategy
         data.push( datapoint );
     }
 
+    @Override
+    public void addAll( double[] xs, double[] ys )
+    {
+        assert xs.length == ys.length : "xs and ys must have the same length";
+        for ( int i = 0; i < xs.length; i++ )
+        {
+            data.push( xs[i], ys[i] );
+        }
+    }
+
+    @Override
+    public void addAll( SeriesData newData )
+    {
+        data.pushAll( newData, 0, newData.length() );
+    }
+
     @Override
     public void clear()
     {
         data.clear();
+        statistics.invalidate();
     }
 
     @Override
@@ -60,12 +92,28 @@ public class DefaultSeriesDataStrategy
     @Override
     public void setData( SeriesData newData )
     {
-        // FIXME overlay voir pour le faire de maniere plus efficace. Avec splice par exemple
-        data.clear();
-        for ( int i = 0; i < newData.length(); i++ )
-        {
-            data.push( newData.get( i ) );
-        }
+        // the content is replaced in place, the series keep referencing the same array
+        data.setData( newData );
+        statistics.invalidate();
+    }
+
+    /**
+     * Removes the datapoints whose x value is lower than the given bound. The x values must be sorted: the cut point
+     * is found by a binary search and the datapoints are removed at once. The strategy must be created as removable.
+     *
+     * @param lowerXbound x value of the first datapoint to keep
+     */
+    protected void evictBefore( double lowerXbound )
+    {
+        int expired = Algorithm.xLowerBound( data, lowerXbound );
+        statistics.removeFirst( expired );
+        data.shift( expired );
+    }
+
+    @Override
+    public SeriesStatistics getStatistics()
+    {
+        return statistics;
     }
 
 }
@@ -53,6 +53,18 @@ public class DefaultSeriesHandler
         strategy.add( datapoint );
     }
 
+    @Override
+    public void addAll( double[] xs, double[] ys )
+    {
+        strategy.addAll( xs, ys );
+    }
+
+    @Override
+    public void addAll( SeriesData newData )
+    {
+        strategy.addAll( newData );
+    }
+
     /*
      * (non-Javadoc)
      * @see com.googlecode.gflot.client.ISeriesHandler#clear()
@@ -111,6 +123,12 @@ public class DefaultSeriesHandler
         return strategy.getData();
     }
 
+    @Override
+    public SeriesStatistics getStatistics()
+    {
+        return strategy.getStatistics();
+    }
+
     /*
      * (non-Javadoc)
      * @see com.googlecode.gflot.client.SeriesHandler#setData(com.googlecode.gflot.client.SeriesData)
@@ -24,11 +24,14 @@
  */
 package com.googlecode.gflot.client;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-
 /**
+ * Strategy keeping at most <code>capacity</code> datapoints. When the capacity is exceeded, each group of 4 datapoints
+ * is replaced by its minimum and maximum and the datapoints added afterwards are downsampled at the same rate.
+ * <p>
+ * The decimation compacts the data in place and the datapoints added are reduced on the fly, so downsampling does not
+ * allocate anything.
+ * </p>
+ *
  * @author Alexander De Leon
  */
 public class DownsamplingSeriesDataStrategy
@@ -37,7 +40,13 @@ public class DownsamplingSeriesDataStrategy
 
     private final int capacity;
     private double downsamplingRate = 1;
-    private final List<DataPoint> downSamplingBuffer = new ArrayList<DataPoint>();
+
+    /* the group of datapoints being downsampled */
+    private int downSamplingCount;
+    private double downSamplingMinX;
+    private double downSamplingMinY;
+    private double downSamplingMaxX;
+    private double downSamplingMaxY;
 
     public DownsamplingSeriesDataStrategy( int capacity )
     {
@@ -46,7 +55,12 @@ public class DownsamplingSeriesDataStrategy
 
     public DownsamplingSeriesDataStrategy( int capacity, SeriesData data )
     {
-        super( data );
+        this( capacity, data, false );
+    }
+
+    protected DownsamplingSeriesDataStrategy( int capacity, SeriesData data, boolean removable )
+    {
+        super( data, removable );
         this.capacity = capacity;
     }
 
@@ -54,20 +68,12 @@ public class DownsamplingSeriesDataStrategy
     {
         if ( downsamplingRate == 1 )
         {
+            // nothing is merged yet, the datapoint is kept as is with its other values
             data.push( dataPoint );
         }
         else
         {
-            downSamplingBuffer.add( dataPoint );
-            if ( downSamplingBuffer.size() == (int) ( 2 / downsamplingRate ) )
-            {
-                DataPoint[] samples = downsampling( downSamplingBuffer );
-                for ( int i = 0; i < samples.length; i++ )
-                {
-                    data.push( samples[i] );
-                }
-                downSamplingBuffer.clear();
-            }
+            append( dataPoint.getX(), dataPoint.getY() );
         }
         if ( data.length() > capacity )
         {
@@ -75,96 +81,140 @@ public class DownsamplingSeriesDataStrategy
         }
     }
 
-    private void decimate()
+    @Override
+    public void addAll( double[] xs, double[] ys )
     {
-        downsamplingRate /= 2;
-        int bufferSize = 4;
-        List<DataPoint> decimationBuffer = new ArrayList<DataPoint>( bufferSize );
-        SeriesData decimatedData = SeriesData.create();
-        for ( int i = 0; i < data.length(); i++ )
+        for ( int i = 0; i < xs.length; i++ )
         {
-            decimationBuffer.add( DataPoint.of( data.getX( i ), data.getY( i ) ) );
-            if ( bufferSize == decimationBuffer.size() )
-            {
-                downsamplingAndAdd( decimationBuffer, decimatedData );
-                decimationBuffer.clear();
-            }
+            append( xs[i], ys[i] );
         }
-        // deal with the remainder samples in the buffer
-        if ( decimationBuffer.size() > 0 )
+        decimateBatch();
+    }
+
+    @Override
+    public void addAll( SeriesData newData )
+    {
+        for ( int i = 0; i < newData.length(); i++ )
         {
-            if ( decimationBuffer.size() <= 2 )
-            {
-                for ( Iterator<DataPoint> i = decimationBuffer.iterator(); i.hasNext(); )
-                {
-                    decimatedData.push( (DataPoint) i.next() );
-                }
-            }
-            else
+            append( newData.getX( i ), newData.getY( i ) );
+        }
+        decimateBatch();
+    }
+
+    /**
+     * Decimates the data until it fits in the capacity after a batch of datapoints has been appended.
+     */
+    private void decimateBatch()
+    {
+        // the data is decimated once for the whole batch
+        while ( data.length() > capacity )
+        {
+            int length = data.length();
+            decimate();
+            if ( data.length() >= length )
             {
-                downsamplingAndAdd( decimationBuffer, decimatedData );
+                break;
             }
         }
-        setData( decimatedData );
     }
 
-    private DataPoint[] downsampling( List<DataPoint> decimationBuffer )
+    private void append( double x, double y )
     {
-        DataPoint[] samples = new DataPoint[2];
-        DataPoint min = getMin( decimationBuffer );
-        DataPoint max = getMax( decimationBuffer );
-        if ( min.getX() < max.getX() )
+        if ( downsamplingRate == 1 )
         {
-            samples[0] = min;
-            samples[1] = max;
+            data.push( x, y );
         }
         else
         {
-            samples[0] = max;
-            samples[1] = min;
+            if ( downSamplingCount == 0 || downSamplingMinY > y )
+            {
+                downSamplingMinX = x;
+                downSamplingMinY = y;
+            }
+            if ( downSamplingCount == 0 || downSamplingMaxY < y )
+            {
+                downSamplingMaxX = x;
+                downSamplingMaxY = y;
+            }
+            downSamplingCount++;
+            if ( downSamplingCount == (int) ( 2 / downsamplingRate ) )
+            {
+                if ( downSamplingMinX < downSamplingMaxX )
+                {
+                    data.push( downSamplingMinX, downSamplingMinY );
+                    data.push( downSamplingMaxX, downSamplingMaxY );
+                }
+                else
+                {
+                    data.push( downSamplingMaxX, downSamplingMaxY );
+                    data.push( downSamplingMinX, downSamplingMinY );
+                }
+                downSamplingCount = 0;
+            }
         }
-        return samples;
     }
 
-    private void downsamplingAndAdd( List<DataPoint> decimationBuffer, SeriesData decimatedData )
+    /**
+     * Replaces each group of 4 datapoints by its minimum and maximum. The datapoints kept are moved toward the
+     * beginning of the data which is then truncated.
+     */
+    private void decimate()
     {
-        DataPoint[] samples = downsampling( decimationBuffer );
-        for ( int i = 0; i < samples.length; i++ )
+        downsamplingRate /= 2;
+        int length = data.length();
+        int write = 0;
+        int read = 0;
+        for ( ; read + 4 <= length; read += 4 )
         {
-            decimatedData.push( samples[i] );
+            decimateGroup( read, read + 4, write );
+            write += 2;
         }
-    }
-
-    private DataPoint getMax( List<DataPoint> decimationBuffer )
-    {
-        double max = -1 * Double.MAX_VALUE;
-        DataPoint maxPoint = null;
-        for ( int i = 0; i < decimationBuffer.size(); i++ )
+        // deal with the remainder samples
+        int remainder = length - read;
+        if ( remainder > 2 )
         {
-            DataPoint point = (DataPoint) decimationBuffer.get( i );
-            if ( max < point.getY() )
+            decimateGroup( read, length, write );
+            write += 2;
+        }
+        else
+        {
+            for ( int i = read; i < length; i++ )
             {
-                maxPoint = point;
-                max = maxPoint.getY();
+                data.move( i, write++ );
             }
         }
-        return maxPoint;
+        data.setLength( write );
+        statistics.invalidate();
     }
 
-    private DataPoint getMin( List<DataPoint> decimationBuffer )
+    /**
+     * Moves the minimum and maximum of the datapoints between begin (inclusive) and end (exclusive) to the index
+     * <code>to</code> and the next one, ordered by x.
+     */
+    private void decimateGroup( int begin, int end, int to )
     {
-        double min = Double.MAX_VALUE;
-        DataPoint minPoint = null;
-        for ( int i = 0; i < decimationBuffer.size(); i++ )
+        int min = begin;
+        int max = begin;
+        for ( int i = begin + 1; i < end; i++ )
         {
-            DataPoint point = (DataPoint) decimationBuffer.get( i );
-            if ( min > point.getY() )
+            double y = data.getY( i );
+            if ( data.getY( min ) > y )
             {
-                minPoint = point;
-                min = minPoint.getY();
+                min = i;
             }
+            if ( data.getY( max ) < y )
+            {
+                max = i;
+            }
+        }
+        if ( data.getX( min ) < data.getX( max ) )
+        {
+            data.movePair( min, max, to );
+        }
+        else
+        {
+            data.movePair( max, min, to );
         }
-        return minPoint;
     }
 
 }
@@ -0,0 +1,387 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.gflot.client;
+
+import com.google.gwt.core.client.Duration;
+import com.google.gwt.user.client.Command;
+import com.google.gwt.user.client.Timer;
+import com.googlecode.gflot.client.event.PlotHoverListener;
+import com.googlecode.gflot.client.event.PlotItem;
+import com.googlecode.gflot.client.event.PlotPanListener;
+import com.googlecode.gflot.client.event.PlotPosition;
+import com.googlecode.gflot.client.event.PlotSelectingListener;
+import com.googlecode.gflot.client.event.PlotZoomListener;
+import com.googlecode.gflot.client.jsni.Plot;
+
+/**
+ * Defines how the events of the interactions with a plot are delivered to a listener. The hover, selecting, pan and
+ * zoom events are fired for each move of the mouse, a listener doing an expensive work can be registered with a
+ * delivery coalescing them.
+ * <p>
+ * Except for {@link #immediate()}, the events are delivered asynchronously and only the latest event is delivered:
+ * the events fired in between are dropped.
+ * </p>
+ */
+public final class EventDelivery
+{
+
+    public enum Mode
+    {
+        /**
+         * Each event is delivered when it is fired
+         */
+        IMMEDIATE,
+
+        /**
+         * The latest event is delivered at the next animation frame
+         */
+        FRAME,
+
+        /**
+         * An event is delivered at most once per interval. The first event is delivered immediately, the latest event
+         * fired during the interval is delivered at its end.
+         */
+        THROTTLE,
+
+        /**
+         * The latest event is delivered once no event has been fired during the delay
+         */
+        TRAILING
+    }
+
+    private static final EventDelivery IMMEDIATE = new EventDelivery( Mode.IMMEDIATE, 0 );
+
+    private static final EventDelivery FRAME = new EventDelivery( Mode.FRAME, 0 );
+
+    /**
+     * @return a delivery of each event when it is fired
+     */
+    public static EventDelivery immediate()
+    {
+        return IMMEDIATE;
+    }
+
+    /**
+     * @return a delivery of the latest event at the next animation frame
+     */
+    public static EventDelivery perFrame()
+    {
+        return FRAME;
+    }
+
+    /**
+     * @param interval minimum interval in milliseconds between two deliveries
+     * @return a delivery of at most one event per interval
+     */
+    public static EventDelivery throttle( int interval )
+    {
+        assert interval > 0 : "interval must be positive";
+        return new EventDelivery( Mode.THROTTLE, interval );
+    }
+
+    /**
+     * @param delay delay in milliseconds without event before the delivery
+     * @return a delivery of the latest event once the events stop
+     */
+    public static EventDelivery trailing( int delay )
+    {
+        assert delay > 0 : "delay must be positive";
+        return new EventDelivery( Mode.TRAILING, delay );
+    }
+
+    /**
+     * Schedules the delivery of the events of one listener according to the mode. The latest event is kept by the
+     * subclass and delivered by {@link #fire()}.
+     */
+    abstract static class Gate
+        extends Timer
+        implements Command
+    {
+        private final EventDelivery delivery;
+
+        private boolean pending;
+
+        private boolean scheduled;
+
+        private double lastDelivery = Double.NEGATIVE_INFINITY;
+
+        Gate( EventDelivery delivery )
+        {
+            this.delivery = delivery;
+        }
+
+        /**
+         * Called when an event is fired, after the event has been stored.
+         */
+        void post()
+        {
+            switch ( delivery.mode )
+            {
+                case FRAME:
+                    pending = true;
+                    if ( !scheduled )
+                    {
+                        scheduled = true;
+                        RedrawScheduler.requestAnimationFrame( this );
+                    }
+                    break;
+                case THROTTLE:
+                    double elapsed = Duration.currentTimeMillis() - lastDelivery;
+                    if ( !scheduled && elapsed >= delivery.delay )
+                    {
+                        deliver();
+                    }
+                    else
+                    {
+                        pending = true;
+                        if ( !scheduled )
+                        {
+                            scheduled = true;
+                            schedule( Math.max( 1, (int) ( delivery.delay - elapsed ) ) );
+                        }
+                    }
+                    break;
+                case TRAILING:
+                    pending = true;
+                    scheduled = true;
+                    // schedule cancels the previous delay
+                    schedule( delivery.delay );
+                    break;
+                default:
+                    fire();
+                    break;
+            }
+        }
+
+        /**
+         * Animation frame
+         */
+        @Override
+        public void execute()
+        {
+            onScheduled();
+        }
+
+        /**
+         * End of the interval or the delay
+         */
+        @Override
+        public void run()
+        {
+            onScheduled();
+        }
+
+        private void onScheduled()
+        {
+            scheduled = false;
+            if ( pending )
+            {
+                deliver();
+            }
+        }
+
+        private void deliver()
+        {
+            pending = false;
+            lastDelivery = Duration.currentTimeMillis();
+            fire();
+        }
+
+        /**
+         * Drops the pending event, if any. Called when the listener is removed or the plot released. It is not an
+         * override of {@link #cancel()}: {@link #schedule(int)} calls it and would drop the event being posted.
+         */
+        void drop()
+        {
+            cancel();
+            pending = false;
+            scheduled = false;
+        }
+
+        /**
+         * Delivers the latest event to the listener.
+         */
+        abstract void fire();
+    }
+
+    private static class HoverGate
+        extends Gate
+        implements PlotHoverListener
+    {
+        private final PlotHoverListener listener;
+        private Plot plot;
+        private PlotPosition position;
+        private PlotItem item;
+
+        HoverGate( EventDelivery delivery, PlotHoverListener listener )
+        {
+            super( delivery );
+            this.listener = listener;
+        }
+
+        @Override
+        public void onPlotHover( Plot plot, PlotPosition position, PlotItem item )
+        {
+            this.plot = plot;
+            this.position = position;
+            this.item = item;
+            post();
+        }
+
+        @Override
+        void fire()
+        {
+            listener.onPlotHover( plot, position, item );
+        }
+    }
+
+    private static class SelectingGate
+        extends Gate
+        implements PlotSelectingListener
+    {
+        private final PlotSelectingListener listener;
+        private PlotSelectionArea area;
+
+        SelectingGate( EventDelivery delivery, PlotSelectingListener listener )
+        {
+            super( delivery );
+            this.listener = listener;
+        }
+
+        @Override
+        public void onPlotSelecting( PlotSelectionArea area )
+        {
+            this.area = area;
+            post();
+        }
+
+        @Override
+        void fire()
+        {
+            listener.onPlotSelecting( area );
+        }
+    }
+
+    private static class PanGate
+        extends Gate
+        implements PlotPanListener
+    {
+        private final PlotPanListener listener;
+        private Plot plot;
+
+        PanGate( EventDelivery delivery, PlotPanListener listener )
+        {
+            super( delivery );
+            this.listener = listener;
+        }
+
+        @Override
+        public void onPlotPan( Plot plot )
+        {
+            this.plot = plot;
+            post();
+        }
+
+        @Override
+        void fire()
+        {
+            listener.onPlotPan( plot );
+        }
+    }
+
+    private static class ZoomGate
+        extends Gate
+        implements PlotZoomListener
+    {
+        private final PlotZoomListener listener;
+        private Plot plot;
+
+        ZoomGate( EventDelivery delivery, PlotZoomListener listener )
+        {
+            super( delivery );
+            this.listener = listener;
+        }
+
+        @Override
+        public void onPlotZoom( Plot plot )
+        {
+            this.plot = plot;
+            post();
+        }
+
+        @Override
+        void fire()
+        {
+            listener.onPlotZoom( plot );
+        }
+    }
+
+    private final Mode mode;
+
+    private final int delay;
+
+    private EventDelivery( Mode mode, int delay )
+    {
+        this.mode = mode;
+        this.delay = delay;
+    }
+
+    /**
+     * @return the mode
+     */
+    public Mode getMode()
+    {
+        return mode;
+    }
+
+    /**
+     * @return the interval of {@link Mode#THROTTLE} or the delay of {@link Mode#TRAILING} in milliseconds, 0 for the
+     * other modes
+     */
+    public int getDelay()
+    {
+        return delay;
+    }
+
+    PlotHoverListener wrapHover( PlotHoverListener listener )
+    {
+        return mode == Mode.IMMEDIATE ? listener : new HoverGate( this, listener );
+    }
+
+    PlotSelectingListener wrapSelecting( PlotSelectingListener listener )
+    {
+        return mode == Mode.IMMEDIATE ? listener : new SelectingGate( this, listener );
+    }
+
+    PlotPanListener wrapPan( PlotPanListener listener )
+    {
+        return mode == Mode.IMMEDIATE ? listener : new PanGate( this, listener );
+    }
+
+    PlotZoomListener wrapZoom( PlotZoomListener listener )
+    {
+        return mode == Mode.IMMEDIATE ? listener : new ZoomGate( this, listener );
+    }
+}
@@ -25,6 +25,13 @@
 package com.googlecode.gflot.client;
 
 /**
+ * Strategy keeping only the last datapoints added.
+ * <p>
+ * When the data is columnar (see {@link SeriesData#createColumnar(int)}), the columns act as a ring buffer: adding a
+ * datapoint to a full window overwrites the oldest one in constant time and the datapoints are put back in order
+ * only when flot reads them to draw the plot.
+ * </p>
+ *
  * @author Alexander De Leon
  */
 public class FixedSizeSeriesDataStrategy
@@ -40,33 +47,53 @@ public class FixedSizeSeriesDataStrategy
 
     public FixedSizeSeriesDataStrategy( int capacity, SeriesData data )
     {
-        super( data );
+        super( data, true );
         this.capacity = capacity;
     }
 
     @Override
     public void add( DataPoint dataPoint )
     {
-        int currentSize = data.length();
-        if ( currentSize + 1 > capacity )
+        if ( data.length() >= capacity )
         {
-            // TODO overlay doit y avoir mieux
-            // Shift all of the values down one position
-            shiftDown();
-            data.set( currentSize - 1, dataPoint );
+            // drop the oldest value. On columnar data, it only moves the start of the ring buffer.
+            statistics.removeFirst( 1 );
+            data.shift();
         }
-        else
+        data.push( dataPoint );
+    }
+
+    @Override
+    public void addAll( double[] xs, double[] ys )
+    {
+        for ( int i = makeRoom( xs.length ); i < xs.length; i++ )
         {
-            data.push( dataPoint );
+            data.push( xs[i], ys[i] );
         }
     }
 
-    private final void shiftDown()
+    @Override
+    public void addAll( SeriesData newData )
+    {
+        int length = newData.length();
+        data.pushAll( newData, makeRoom( length ), length );
+    }
+
+    /**
+     * Drops the oldest datapoints to make room for the given number of new datapoints.
+     *
+     * @return the index of the first new datapoint that fits in the window
+     */
+    private int makeRoom( int length )
     {
-        int currentSize = data.length();
-        for ( int i = 0; i < currentSize - 1; i++ )
+        // only the last datapoints fit in the window
+        int begin = Math.max( 0, length - capacity );
+        int overflow = data.length() + length - begin - capacity;
+        if ( overflow > 0 )
         {
-            data.set( i, data.get( i + 1 ) );
+            statistics.removeFirst( overflow );
+            data.shift( overflow );
         }
+        return begin;
     }
 }
@@ -40,7 +40,7 @@ public class FixedSpanDownsamplingSeriesDataStrategy
 
     public FixedSpanDownsamplingSeriesDataStrategy( int capacity, long maximumSpan, SeriesData seriesData )
     {
-        super( capacity, seriesData );
+        super( capacity, seriesData, true );
         this.maximumSpan = maximumSpan;
     }
 
@@ -51,21 +51,33 @@ public class FixedSpanDownsamplingSeriesDataStrategy
         super.add( dataPoint );
 
         // Now that the new point has been added, drop any point(s) from the
-        // beginning that are outside the span requirement
+        // beginning that are outside the span requirement.
         double lowerXbound = dataPoint.getX() - maximumSpan;
-        boolean done = false;
-        while ( !done )
+        evictBefore( lowerXbound );
+    }
+
+    @Override
+    public void addAll( double[] xs, double[] ys )
+    {
+        super.addAll( xs, ys );
+
+        // a single cut for the whole batch
+        if ( xs.length > 0 )
         {
-            double xValue = data.getX( 0 );
-            if ( xValue < lowerXbound )
-            {
-                data.shift();
-            }
-            else
-            {
-                done = true;
-            }
+            evictBefore( xs[xs.length - 1] - maximumSpan );
         }
     }
 
+    @Override
+    public void addAll( SeriesData newData )
+    {
+        super.addAll( newData );
+
+        // a single cut for the whole batch
+        if ( !newData.isEmpty() )
+        {
+            double lowerXbound = newData.getX( newData.length() - 1 ) - maximumSpan;
+            evictBefore( lowerXbound );
+        }
+    }
 }
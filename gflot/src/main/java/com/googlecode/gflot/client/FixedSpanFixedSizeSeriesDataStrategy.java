@@ -47,20 +47,33 @@ public class FixedSpanFixedSizeSeriesDataStrategy
         super.add( dataPoint );
 
         // Now that the new point has been added, drop any point(s) from the
-        // beginning that are outside the span requirement
+        // beginning that are outside the span requirement.
         double lowerXbound = dataPoint.getX() - maximumSpan;
-        boolean done = false;
-        while ( !done )
+        evictBefore( lowerXbound );
+    }
+
+    @Override
+    public void addAll( double[] xs, double[] ys )
+    {
+        super.addAll( xs, ys );
+
+        // a single cut for the whole batch
+        if ( xs.length > 0 )
+        {
+            evictBefore( xs[xs.length - 1] - maximumSpan );
+        }
+    }
+
+    @Override
+    public void addAll( SeriesData newData )
+    {
+        super.addAll( newData );
+
+        // a single cut for the whole batch
+        if ( !newData.isEmpty() )
         {
-            double xValue = data.getX( 0 );
-            if ( xValue < lowerXbound )
-            {
-                data.shift();
-            }
-            else
-            {
-                done = true;
-            }
+            double lowerXbound = newData.getX( newData.length() - 1 ) - maximumSpan;
+            evictBefore( lowerXbound );
         }
     }
 }
@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.gflot.client;
+
+/**
+ * Strategy keeping at most <code>capacity</code> datapoints using the Largest-Triangle-Three-Buckets algorithm.
+ * <p>
+ * The datapoints are split in buckets and, in each bucket, the datapoint forming the largest triangle with the
+ * datapoint selected in the previous bucket and the average of the next bucket is kept. The first and last datapoints
+ * are always kept.
+ * </p>
+ * <p>
+ * {@link #setData(SeriesData)} downsamples the whole data at once. {@link #add(DataPoint)} works on buckets of a fixed
+ * number of datapoints: a bucket is reduced to one datapoint as soon as the next bucket is complete, and the last
+ * datapoint added is always displayed. When the capacity is exceeded, the selected datapoints are downsampled to half
+ * the capacity and the size of the buckets is doubled. The capacity is at least {@value #MIN_CAPACITY}.
+ * </p>
+ */
+public class LargestTriangleThreeBucketsSeriesDataStrategy
+    extends DefaultSeriesDataStrategy
+{
+
+    /**
+     * Minimum capacity. Below it, a compaction to half the capacity would not leave room for the first, last and at
+     * least one bucket datapoint.
+     */
+    public static final int MIN_CAPACITY = 6;
+
+    private final int capacity;
+
+    /**
+     * Number of datapoints added per bucket
+     */
+    private int bucketSize = 1;
+
+    /**
+     * Number of datapoints at the beginning of the data that have been selected. The datapoint following them, if any,
+     * is the last datapoint added.
+     */
+    private int selected = 0;
+
+    /**
+     * Datapoints added that are not reduced yet
+     */
+    private final SeriesData buffer = SeriesData.createColumnar();
+
+    public LargestTriangleThreeBucketsSeriesDataStrategy( int capacity )
+    {
+        this( capacity, SeriesData.create() );
+    }
+
+    public LargestTriangleThreeBucketsSeriesDataStrategy( int capacity, SeriesData data )
+    {
+        super( data );
+        this.capacity = Math.max( MIN_CAPACITY, capacity );
+        // the last datapoint displayed is replaced by the next one added
+        statistics.setReplaceable( 1 );
+    }
+
+    @Override
+    public void add( DataPoint dataPoint )
+    {
+        if ( append( dataPoint.getX(), dataPoint.getY() ) )
+        {
+            showLast( dataPoint.getX(), dataPoint.getY() );
+        }
+    }
+
+    @Override
+    public void addAll( double[] xs, double[] ys )
+    {
+        int length = xs.length;
+        boolean show = false;
+        for ( int i = 0; i < length; i++ )
+        {
+            show = append( xs[i], ys[i] );
+        }
+        // the last datapoint is displayed once for the whole batch
+        if ( show )
+        {
+            showLast( xs[length - 1], ys[length - 1] );
+        }
+    }
+
+    @Override
+    public void addAll( SeriesData newData )
+    {
+        int length = newData.length();
+        boolean show = false;
+        for ( int i = 0; i < length; i++ )
+        {
+            show = append( newData.getX( i ), newData.getY( i ) );
+        }
+        // the last datapoint is displayed once for the whole batch
+        if ( show )
+        {
+            showLast( newData.getX( length - 1 ), newData.getY( length - 1 ) );
+        }
+    }
+
+    @Override
+    public void clear()
+    {
+        super.clear();
+        buffer.clear();
+        bucketSize = 1;
+        selected = 0;
+    }
+
+    @Override
+    public void setData( SeriesData newData )
+    {
+        clear();
+        int length = newData.length();
+        if ( length <= capacity )
+        {
+            super.setData( newData );
+        }
+        else
+        {
+            downsample( newData, 0, length, capacity, data );
+            // the next datapoints added are bucketed with the same density
+            bucketSize = (int) Math.ceil( (double) length / capacity );
+            statistics.invalidate();
+        }
+        selected = data.length();
+    }
+
+    /**
+     * Adds the datapoint to the buffer and reduces the buckets that are complete.
+     *
+     * @return false if the datapoint is the first one and already is in the data
+     */
+    private boolean append( double x, double y )
+    {
+        if ( selected == 0 )
+        {
+            // the first datapoint is always kept
+            data.clear();
+            statistics.invalidate();
+            data.push( x, y );
+            selected = 1;
+            return false;
+        }
+
+        buffer.push( x, y );
+        if ( buffer.length() == 2 * bucketSize )
+        {
+            reduceBucket();
+            if ( selected >= capacity )
+            {
+                compact();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Displays the last datapoint added after the selected ones.
+     */
+    private void showLast( double x, double y )
+    {
+        // the previous last datapoint is replaceable, the statistics stay valid
+        data.setLength( selected );
+        data.push( x, y );
+        if ( data.length() > capacity )
+        {
+            compact();
+        }
+    }
+
+    /**
+     * Reduces the first bucket of the buffer to the datapoint forming the largest triangle with the last selected
+     * datapoint and the average of the second bucket.
+     */
+    private void reduceBucket()
+    {
+        double avgX = 0;
+        double avgY = 0;
+        for ( int i = bucketSize; i < 2 * bucketSize; i++ )
+        {
+            avgX += buffer.getX( i );
+            avgY += buffer.getY( i );
+        }
+        avgX /= bucketSize;
+        avgY /= bucketSize;
+
+        int index = largestTriangle( buffer, 0, bucketSize, data.getX( selected - 1 ), data.getY( selected - 1 ), avgX,
+            avgY );
+        data.setLength( selected );
+        data.push( buffer.getX( index ), buffer.getY( index ) );
+        selected++;
+        buffer.shift( bucketSize );
+    }
+
+    /**
+     * Downsamples the selected datapoints to half the capacity and doubles the size of the buckets. The datapoints are
+     * reduced in place.
+     */
+    private void compact()
+    {
+        int length = data.length();
+        int kept = downsample( data, 0, selected, capacity / 2, data );
+        // the datapoint displayed after the selected ones follows the reduced ones
+        for ( int i = selected; i < length; i++ )
+        {
+            data.move( i, kept + i - selected );
+        }
+        data.setLength( kept + length - selected );
+        statistics.invalidate();
+        selected = kept;
+        bucketSize *= 2;
+    }
+
+    /**
+     * Downsamples the datapoints of the source between begin (inclusive) and end (exclusive) to threshold datapoints
+     * and writes them to the target from its index 0. When the target is the source, the datapoints are moved toward
+     * the beginning of the data: a datapoint is never written after one that is still to be read.
+     *
+     * @return the number of datapoints written
+     */
+    private static int downsample( SeriesData source, int begin, int end, int threshold, SeriesData target )
+    {
+        int length = end - begin;
+        int written = 0;
+        if ( threshold >= length || threshold < 3 )
+        {
+            for ( int i = begin; i < end; i++ )
+            {
+                write( source, i, target, written++ );
+            }
+            return written;
+        }
+
+        // the first and last datapoints are kept, the others are split in threshold - 2 buckets
+        double every = (double) ( length - 2 ) / ( threshold - 2 );
+        double ax = source.getX( begin );
+        double ay = source.getY( begin );
+        write( source, begin, target, written++ );
+        for ( int i = 0; i < threshold - 2; i++ )
+        {
+            int avgStart = begin + (int) Math.floor( ( i + 1 ) * every ) + 1;
+            int avgEnd = Math.min( begin + (int) Math.floor( ( i + 2 ) * every ) + 1, end );
+            double avgX = 0;
+            double avgY = 0;
+            for ( int j = avgStart; j < avgEnd; j++ )
+            {
+                avgX += source.getX( j );
+                avgY += source.getY( j );
+            }
+            avgX /= avgEnd - avgStart;
+            avgY /= avgEnd - avgStart;
+
+            int rangeStart = begin + (int) Math.floor( i * every ) + 1;
+            int rangeEnd = begin + (int) Math.floor( ( i + 1 ) * every ) + 1;
+            int a = largestTriangle( source, rangeStart, rangeEnd, ax, ay, avgX, avgY );
+            ax = source.getX( a );
+            ay = source.getY( a );
+            write( source, a, target, written++ );
+        }
+        write( source, end - 1, target, written++ );
+        return written;
+    }
+
+    /**
+     * Writes the datapoint of the source at the given index to the target at index <code>to</code>, which is the
+     * length of the target unless the target is the source.
+     */
+    private static void write( SeriesData source, int index, SeriesData target, int to )
+    {
+        if ( source == target )
+        {
+            target.move( index, to );
+        }
+        else
+        {
+            target.push( source.getX( index ), source.getY( index ) );
+        }
+    }
+
+    /**
+     * @return the index of the datapoint between begin (inclusive) and end (exclusive) forming the largest triangle
+     * with the points (ax, ay) and (cx, cy)
+     */
+    private static int largestTriangle( SeriesData s, int begin, int end, double ax, double ay, double cx, double cy )
+    {
+        int index = begin;
+        double maxArea = -1;
+        for ( int i = begin; i < end; i++ )
+        {
+            // twice the area, the factor does not matter for the comparison
+            double area = Math.abs( ( ax - cx ) * ( s.getY( i ) - ay ) - ( ax - s.getX( i ) ) * ( cy - ay ) );
+            if ( area > maxArea )
+            {
+                maxArea = area;
+                index = i;
+            }
+        }
+        return index;
+    }
+}
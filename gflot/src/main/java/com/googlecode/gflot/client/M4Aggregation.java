@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.gflot.client;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArrayNumber;
+
+/**
+ * M4 aggregation of a series: for each pixel column of the plot, only the first, last, minimum and maximum datapoints
+ * are kept. A line drawn through the aggregated datapoints covers the same pixels as a line drawn through all the
+ * datapoints.
+ * <p>
+ * The x values of the data must be sorted in ascending order. A datapoint with a NaN x value, a gap in the line, is
+ * always kept.
+ * </p>
+ * <p>
+ * The pixel columns are computed on a linear scale between the minimum and maximum x values. The result is not pixel
+ * exact on an axis with a transform, a logarithmic axis for example, whose data must not be aggregated.
+ * </p>
+ */
+public final class M4Aggregation
+{
+
+    /**
+     * Data being aggregated. The indexes of the datapoints kept are given to {@link #keep(int)} in ascending order.
+     */
+    private abstract static class Aggregation
+    {
+        abstract int length();
+
+        abstract double getX( int index );
+
+        abstract double getY( int index );
+
+        abstract void keep( int index );
+
+        /**
+         * Binary search skipping the gaps, whose NaN x value can not be compared.
+         *
+         * @return the index of the first datapoint after begin whose x value is greater than x, or greater than or
+         * equal to x if not strict
+         */
+        final int bound( int begin, double x, boolean strict )
+        {
+            int low = begin;
+            int high = length();
+            while ( low < high )
+            {
+                int mid = ( low + high ) >>> 1;
+                int probe = mid;
+                while ( probe < high && Double.isNaN( getX( probe ) ) )
+                {
+                    probe++;
+                }
+                if ( probe < high && ( strict ? getX( probe ) <= x : getX( probe ) < x ) )
+                {
+                    low = probe + 1;
+                }
+                else
+                {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private M4Aggregation()
+    {
+    }
+
+    /**
+     * Aggregates the datapoints visible between min and max on a plot of the given width. The datapoint just before min
+     * and the one just after max are kept so the lines crossing the borders of the plot are drawn.
+     *
+     * @param data the data to aggregate
+     * @param min the minimum x value displayed. If NaN, the x value of the first datapoint is used.
+     * @param max the maximum x value displayed. If NaN, the x value of the last datapoint is used.
+     * @param width the width in pixels of the plotting area
+     * @return the aggregated data, or data itself if it has no more than 4 datapoints per pixel column
+     */
+    public static SeriesData aggregate( final SeriesData data, double min, double max, int width )
+    {
+        final SeriesData result = SeriesData.create();
+        Aggregation aggregation = new Aggregation()
+        {
+            @Override
+            int length()
+            {
+                return data.length();
+            }
+
+            @Override
+            double getX( int index )
+            {
+                return data.getX( index );
+            }
+
+            @Override
+            double getY( int index )
+            {
+                return data.getY( index );
+            }
+
+            @Override
+            void keep( int index )
+            {
+                result.push( data.get( index ) );
+            }
+        };
+        return aggregate( aggregation, min, max, width ) ? result : data;
+    }
+
+    /**
+     * Aggregates the datapoints computed by flot for a series, <code>series.datapoints.points</code>. Each datapoint
+     * is made of <code>pointSize</code> values, the first two being the x and y values. Null x values are gaps.
+     *
+     * @param points the datapoints
+     * @param pointSize the number of values per datapoint
+     * @param min the minimum x value displayed. If NaN, the x value of the first datapoint is used.
+     * @param max the maximum x value displayed. If NaN, the x value of the last datapoint is used.
+     * @param width the width in pixels of the plotting area
+     * @return the aggregated datapoints, or points itself if there are no more than 4 datapoints per pixel column
+     */
+    public static JsArrayNumber aggregatePoints( final JsArrayNumber points, final int pointSize, double min,
+                                                 double max, int width )
+    {
+        final JsArrayNumber result = JavaScriptObject.createArray().cast();
+        Aggregation aggregation = new Aggregation()
+        {
+            @Override
+            int length()
+            {
+                return points.length() / pointSize;
+            }
+
+            @Override
+            double getX( int index )
+            {
+                return getValue( points, index * pointSize );
+            }
+
+            @Override
+            double getY( int index )
+            {
+                return getValue( points, index * pointSize + 1 );
+            }
+
+            @Override
+            void keep( int index )
+            {
+                copyPoint( points, index * pointSize, pointSize, result );
+            }
+        };
+        return aggregate( aggregation, min, max, width ) ? result : points;
+    }
+
+    /**
+     * Passes the indexes of the datapoints to keep to the aggregation.
+     *
+     * @return false if the data does not need to be aggregated
+     */
+    private static boolean aggregate( Aggregation data, double min, double max, int width )
+    {
+        int length = data.length();
+        if ( length <= 4 * width || width <= 0 )
+        {
+            return false;
+        }
+        // the default range goes from the first to the last datapoint that is not a gap
+        for ( int i = 0; Double.isNaN( min ) && i < length; i++ )
+        {
+            min = data.getX( i );
+        }
+        for ( int i = length - 1; Double.isNaN( max ) && i >= 0; i-- )
+        {
+            max = data.getX( i );
+        }
+        if ( !( max > min ) )
+        {
+            return false;
+        }
+
+        int begin = data.bound( 0, min, false );
+        int end = data.bound( begin, max, true );
+
+        if ( begin > 0 )
+        {
+            data.keep( begin - 1 );
+        }
+
+        double scale = width / ( max - min );
+        int column = -1;
+        int first = -1;
+        int last = -1;
+        int minIndex = -1;
+        int maxIndex = -1;
+        double minY = 0;
+        double maxY = 0;
+        for ( int i = begin; i < end; i++ )
+        {
+            double x = data.getX( i );
+            if ( Double.isNaN( x ) )
+            {
+                // the gap is kept between the columns around it
+                keepColumn( data, first, minIndex, maxIndex, last );
+                data.keep( i );
+                column = -1;
+                first = -1;
+                continue;
+            }
+            int c = (int) Math.floor( ( x - min ) * scale );
+            double y = data.getY( i );
+            if ( c != column )
+            {
+                keepColumn( data, first, minIndex, maxIndex, last );
+                column = c;
+                first = last = minIndex = maxIndex = i;
+                minY = maxY = y;
+            }
+            else
+            {
+                last = i;
+                if ( y < minY )
+                {
+                    minY = y;
+                    minIndex = i;
+                }
+                else if ( y > maxY )
+                {
+                    maxY = y;
+                    maxIndex = i;
+                }
+            }
+        }
+        keepColumn( data, first, minIndex, maxIndex, last );
+
+        if ( end < length )
+        {
+            data.keep( end );
+        }
+        return true;
+    }
+
+    /**
+     * Keeps the datapoints of a pixel column in the order they appear in the data.
+     */
+    private static void keepColumn( Aggregation data, int first, int minIndex, int maxIndex, int last )
+    {
+        if ( first < 0 )
+        {
+            return;
+        }
+        int low = Math.min( minIndex, maxIndex );
+        int high = Math.max( minIndex, maxIndex );
+        data.keep( first );
+        if ( low != first )
+        {
+            data.keep( low );
+        }
+        if ( high != low && high != last )
+        {
+            data.keep( high );
+        }
+        if ( last != first )
+        {
+            data.keep( last );
+        }
+    }
+
+    private static native double getValue( JsArrayNumber points, int index )
+    /*-{
+        var value = points[index];
+        return value == null ? NaN : value;
+    }-*/;
+
+    /**
+     * Copies a datapoint as is, null values included.
+     */
+    private static native void copyPoint( JsArrayNumber points, int offset, int pointSize, JsArrayNumber result )
+    /*-{
+        for (var k = 0; k < pointSize; ++k) {
+            result.push(points[offset + k]);
+        }
+    }-*/;
+}
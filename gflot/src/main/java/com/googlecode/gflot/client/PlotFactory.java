@@ -92,15 +92,26 @@ public final class PlotFactory
         return new SimplePlot( plotContainer, model, options );
     }
 
+    /**
+     * Creates a new plot in the element of the given plot. The flot plot of the given plot is released and its
+     * canvases and text layer are reused by the new plot.
+     */
     public static SimplePlot recreatePlot( SimplePlot plot, PlotModel model, PlotOptions options )
     {
         plot.removeFromParent();
+        plot.releasePlot();
         return new SimplePlot( plot.getElement(), model, options );
     }
 
+    /**
+     * Creates a new plot with overview in the elements of the given plot. The flot plots of the given plot are released
+     * and their canvases and text layers are reused by the new plot.
+     */
     public static PlotWithOverview recreatePlotWithOverview( PlotWithOverview plot, PlotWithOverviewModel model, PlotOptions windowPlotOptions, PlotOptions overviewPlotOptions )
     {
         plot.removeFromParent();
+        plot.getWindowPlot().releasePlot();
+        plot.getOverviewPlot().releasePlot();
         return new PlotWithOverview( model, windowPlotOptions, overviewPlotOptions, plot.getWindowPlot().getElement(), plot.getOverviewPlot().getElement() );
     }
 
@@ -161,6 +161,21 @@ public class PlotModel
         return seriesArray;
     }
 
+    /**
+     * @return the statistics of the data of all the series, whatever axes they are bound to, or null if there is no
+     * series
+     */
+    public SeriesStatistics getStatistics()
+    {
+        SeriesStatistics statistics = null;
+        for ( SeriesHandler handler : handlers )
+        {
+            SeriesStatistics handlerStatistics = handler.getStatistics();
+            statistics = null == statistics ? handlerStatistics : statistics.merge( handlerStatistics );
+        }
+        return statistics;
+    }
+
     /**
      * @return a read-only list of the series handler
      */
@@ -40,11 +40,28 @@ public final class PlotModelStrategy
         return new DefaultSeriesDataStrategy();
     }
 
+    /**
+     * A plot model strategy that allows unlimited amount of datapoints and stores them in columns.
+     *
+     * @return the new columnar {@link SeriesDataStrategy}
+     * @see SeriesData#createColumnar()
+     */
+    public static SeriesDataStrategy columnarStrategy()
+    {
+        return new DefaultSeriesDataStrategy( SeriesData.createColumnar() );
+    }
+
     public static SeriesDataStrategy downSamplingStrategy( final int capacity )
     {
         return downSamplingStrategy( capacity, 0 );
     }
 
+    /**
+     * @param capacity maximum number of datapoints
+     * @param maximumXValueSpan maximum difference between the x value of the last and the first datapoint. Ignored if
+     * less than or equal to 0. Otherwise, the datapoints must be added in increasing x order.
+     * @return the new downsampling {@link SeriesDataStrategy}
+     */
     public static SeriesDataStrategy downSamplingStrategy( final int capacity, final long maximumXValueSpan )
     {
         if ( maximumXValueSpan <= 0 )
@@ -54,6 +71,37 @@ public final class PlotModelStrategy
         return new FixedSpanDownsamplingSeriesDataStrategy( capacity, maximumXValueSpan );
     }
 
+    /**
+     * A plot model strategy that downsamples the datapoints with the Largest-Triangle-Three-Buckets algorithm.
+     *
+     * @param capacity maximum number of datapoints
+     * @return the new {@link LargestTriangleThreeBucketsSeriesDataStrategy}
+     */
+    public static SeriesDataStrategy largestTriangleThreeBucketsStrategy( final int capacity )
+    {
+        return new LargestTriangleThreeBucketsSeriesDataStrategy( capacity );
+    }
+
+    /**
+     * A plot model strategy that keeps all the datapoints and displays the level of detail matching the visible x
+     * range. Use {@link PyramidSeriesDataStrategy#bind(SimplePlot)} to follow the zoom and pan of a plot.
+     *
+     * @return the new {@link PyramidSeriesDataStrategy}
+     */
+    public static PyramidSeriesDataStrategy pyramidStrategy()
+    {
+        return new PyramidSeriesDataStrategy();
+    }
+
+    /**
+     * A plot model strategy that keeps the last datapoints added.
+     *
+     * @param capacity maximum number of datapoints
+     * @param maximumXValueSpan maximum difference between the x value of the last and the first datapoint. Ignored if
+     * less than or equal to 0. Otherwise, the datapoints must be added in increasing x order: the expired datapoints
+     * are found by a binary search on the x values.
+     * @return the new sliding window {@link SeriesDataStrategy}
+     */
     public static SeriesDataStrategy slidingWindowStrategy( final int capacity, final long maximumXValueSpan )
     {
         if ( maximumXValueSpan <= 0 )
@@ -71,4 +119,37 @@ public final class PlotModelStrategy
         return slidingWindowStrategy( capacity, 0 );
     }
 
+    /**
+     * A plot model strategy that keeps the last datapoints added, stored in a columnar ring buffer so adding a
+     * datapoint costs the same whatever the size of the window. The limitations of the columnar data apply (see
+     * {@link SeriesData#createColumnar()}) and the columnar plugin must be loaded.
+     *
+     * @param capacity maximum number of datapoints
+     * @param maximumXValueSpan maximum difference between the x value of the last and the first datapoint. Ignored if
+     * less than or equal to 0. Otherwise, the datapoints must be added in increasing x order.
+     * @return the new columnar sliding window {@link SeriesDataStrategy}
+     */
+    public static SeriesDataStrategy columnarSlidingWindowStrategy( final int capacity, final long maximumXValueSpan )
+    {
+        SeriesData data = SeriesData.createColumnar( capacity );
+        if ( maximumXValueSpan <= 0 )
+        {
+            return new FixedSizeSeriesDataStrategy( capacity, data );
+        }
+        else
+        {
+            return new FixedSpanFixedSizeSeriesDataStrategy( capacity, maximumXValueSpan, data );
+        }
+    }
+
+    /**
+     * @param capacity maximum number of datapoints
+     * @return the new columnar sliding window {@link SeriesDataStrategy}
+     * @see #columnarSlidingWindowStrategy(int, long)
+     */
+    public static SeriesDataStrategy columnarSlidingWindowStrategy( final int capacity )
+    {
+        return columnarSlidingWindowStrategy( capacity, 0 );
+    }
+
 }
@@ -24,6 +24,7 @@
  */
 package com.googlecode.gflot.client;
 
+import com.google.gwt.event.shared.HandlerRegistration;
 import com.google.gwt.user.client.ui.IsWidget;
 import com.googlecode.gflot.client.event.PlotClickListener;
 import com.googlecode.gflot.client.event.PlotHoverListener;
@@ -72,22 +73,34 @@ public interface PlotWidget
      * Add a selected listener to the plot
      *
      * @param listener listener to add to the plot
+     * @return the registration removing the listener
      */
-    void addSelectedListener( PlotSelectedListener listener );
+    HandlerRegistration addSelectedListener( PlotSelectedListener listener );
 
     /**
      * Add a selecting listener to the plot
      *
      * @param listener listener to add to the plot
+     * @return the registration removing the listener
      */
-    void addSelectingListener( PlotSelectingListener listener );
+    HandlerRegistration addSelectingListener( PlotSelectingListener listener );
+
+    /**
+     * Add a selecting listener to the plot, the events being delivered as defined by the delivery
+     *
+     * @param listener listener to add to the plot
+     * @param delivery how the events are delivered, {@link EventDelivery#perFrame()} for example
+     * @return the registration removing the listener
+     */
+    HandlerRegistration addSelectingListener( PlotSelectingListener listener, EventDelivery delivery );
 
     /**
      * Add a unselected listener to the plot
      *
      * @param listener listener to add to the plot
+     * @return the registration removing the listener
      */
-    void addUnselectedListener( PlotUnselectedListener listener );
+    HandlerRegistration addUnselectedListener( PlotUnselectedListener listener );
 
     /**
      * @return the current selection in the plot. If there's currently no selection, the function returns null.
@@ -126,16 +139,28 @@ public interface PlotWidget
      *
      * @param listener listener to add to the plot
      * @param onlyOnDatapoint true if the event should fire only when hovering a datapoint
+     * @return the registration removing the listener
      */
-    void addHoverListener( PlotHoverListener listener, boolean onlyOnDatapoint );
+    HandlerRegistration addHoverListener( PlotHoverListener listener, boolean onlyOnDatapoint );
+
+    /**
+     * Add a hover listener to the plot, the events being delivered as defined by the delivery
+     *
+     * @param listener listener to add to the plot
+     * @param onlyOnDatapoint true if the event should fire only when hovering a datapoint
+     * @param delivery how the events are delivered, {@link EventDelivery#perFrame()} for example
+     * @return the registration removing the listener
+     */
+    HandlerRegistration addHoverListener( PlotHoverListener listener, boolean onlyOnDatapoint, EventDelivery delivery );
 
     /**
      * Add a click listener to the plot
      *
      * @param listener listener to add to the plot
      * @param onlyOnDatapoint true if the event should fire only when hovering a datapoint
+     * @return the registration removing the listener
      */
-    void addClickListener( PlotClickListener listener, boolean onlyOnDatapoint );
+    HandlerRegistration addClickListener( PlotClickListener listener, boolean onlyOnDatapoint );
 
     /**
      * @return the model
@@ -143,10 +168,17 @@ public interface PlotWidget
     PlotModel getModel();
 
     /**
-     * Redraw the plot
+     * Redraw the plot at the next animation frame. The redraws requested before are coalesced into one.
+     *
+     * @see RedrawScheduler
      */
     void redraw();
 
+    /**
+     * Redraw the plot immediately
+     */
+    void redrawNow();
+
     /**
      * @return the internal flot plot
      */
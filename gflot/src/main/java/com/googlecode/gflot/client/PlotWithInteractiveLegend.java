@@ -81,31 +81,44 @@ public class PlotWithInteractiveLegend
         model.addListener( this );
     }
 
-    public void addClickListener( PlotClickListener listener, boolean onlyOnDatapoint )
+    public HandlerRegistration addClickListener( PlotClickListener listener, boolean onlyOnDatapoint )
     {
-        plot.addClickListener( listener, onlyOnDatapoint );
+        return plot.addClickListener( listener, onlyOnDatapoint );
     }
 
-    public void addHoverListener( PlotHoverListener listener, boolean onlyOnDatapoint )
+    public HandlerRegistration addHoverListener( PlotHoverListener listener, boolean onlyOnDatapoint )
     {
-        plot.addHoverListener( listener, onlyOnDatapoint );
+        return plot.addHoverListener( listener, onlyOnDatapoint );
     }
 
-    public void addSelectedListener( PlotSelectedListener listener )
+    @Override
+    public HandlerRegistration addHoverListener( PlotHoverListener listener, boolean onlyOnDatapoint,
+                                                 EventDelivery delivery )
+    {
+        return plot.addHoverListener( listener, onlyOnDatapoint, delivery );
+    }
+
+    public HandlerRegistration addSelectedListener( PlotSelectedListener listener )
     {
-        plot.addSelectedListener( listener );
+        return plot.addSelectedListener( listener );
     }
 
     @Override
-    public void addSelectingListener( final PlotSelectingListener listener )
+    public HandlerRegistration addSelectingListener( final PlotSelectingListener listener )
     {
-        plot.addSelectingListener( listener );
+        return plot.addSelectingListener( listener );
     }
 
     @Override
-    public void addUnselectedListener( final PlotUnselectedListener listener )
+    public HandlerRegistration addSelectingListener( PlotSelectingListener listener, EventDelivery delivery )
     {
-        plot.addUnselectedListener( listener );
+        return plot.addSelectingListener( listener, delivery );
+    }
+
+    @Override
+    public HandlerRegistration addUnselectedListener( final PlotUnselectedListener listener )
+    {
+        return plot.addUnselectedListener( listener );
     }
 
     @Override
@@ -173,6 +186,11 @@ public class PlotWithInteractiveLegend
         plot.redraw();
     }
 
+    public void redrawNow()
+    {
+        plot.redrawNow();
+    }
+
     public Widget getWidget()
     {
         return this;
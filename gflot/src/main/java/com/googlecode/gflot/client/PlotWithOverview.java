@@ -107,31 +107,44 @@ public class PlotWithOverview
     }
 
     /* ---------------------- PlotWidget API -- */
-    public void addClickListener( PlotClickListener listener, boolean onlyOnDatapoint )
+    public HandlerRegistration addClickListener( PlotClickListener listener, boolean onlyOnDatapoint )
     {
-        windowPlot.addClickListener( listener, onlyOnDatapoint );
+        return windowPlot.addClickListener( listener, onlyOnDatapoint );
     }
 
-    public void addHoverListener( PlotHoverListener listener, boolean onlyOnDatapoint )
+    public HandlerRegistration addHoverListener( PlotHoverListener listener, boolean onlyOnDatapoint )
     {
-        windowPlot.addHoverListener( listener, onlyOnDatapoint );
+        return windowPlot.addHoverListener( listener, onlyOnDatapoint );
     }
 
-    public void addSelectedListener( PlotSelectedListener listener )
+    @Override
+    public HandlerRegistration addHoverListener( PlotHoverListener listener, boolean onlyOnDatapoint,
+                                                 EventDelivery delivery )
+    {
+        return windowPlot.addHoverListener( listener, onlyOnDatapoint, delivery );
+    }
+
+    public HandlerRegistration addSelectedListener( PlotSelectedListener listener )
+    {
+        return overviewPlot.addSelectedListener( listener );
+    }
+
+    @Override
+    public HandlerRegistration addSelectingListener( final PlotSelectingListener listener )
     {
-        overviewPlot.addSelectedListener( listener );
+        return overviewPlot.addSelectingListener( listener );
     }
 
     @Override
-    public void addSelectingListener( final PlotSelectingListener listener )
+    public HandlerRegistration addSelectingListener( PlotSelectingListener listener, EventDelivery delivery )
     {
-        overviewPlot.addSelectingListener( listener );
+        return overviewPlot.addSelectingListener( listener, delivery );
     }
 
     @Override
-    public void addUnselectedListener( final PlotUnselectedListener listener )
+    public HandlerRegistration addUnselectedListener( final PlotUnselectedListener listener )
     {
-        overviewPlot.addUnselectedListener( listener );
+        return overviewPlot.addUnselectedListener( listener );
     }
 
     @Override
@@ -227,10 +240,17 @@ public class PlotWithOverview
 
     public void redraw()
     {
+        // the plots are redrawn together so the selection is set on the new overview plot
+        RedrawScheduler.get().schedule( this );
+    }
+
+    public void redrawNow()
+    {
+        RedrawScheduler.get().cancel( this );
         double[] selection = model.getSelection();
         // we have to redraw first and then select
-        windowPlot.redraw();
-        overviewPlot.redraw();
+        windowPlot.redrawNow();
+        overviewPlot.redrawNow();
 
         if ( selection[0] < selection[1] )
         {
@@ -239,6 +259,14 @@ public class PlotWithOverview
         }
     }
 
+    @Override
+    protected void onUnload()
+    {
+        super.onUnload();
+        // a detached plot must not be kept by the scheduler
+        RedrawScheduler.get().cancel( this );
+    }
+
     public void setHeight( int height )
     {
         windowPlot.setHeight( height - getOverviewHeight() );
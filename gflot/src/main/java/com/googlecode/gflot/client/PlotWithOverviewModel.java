@@ -61,18 +61,46 @@ public class PlotWithOverviewModel
         public void add( DataPoint datapoint )
         {
             overviewHandler.add( datapoint );
-            if ( lockSelection && selection[1] < datapoint.getX() )
+            onAdd( datapoint, datapoint );
+        }
+
+        @Override
+        public void addAll( double[] xs, double[] ys )
+        {
+            addAll( SeriesData.createColumnar( xs, ys ) );
+        }
+
+        @Override
+        public void addAll( SeriesData newData )
+        {
+            if ( newData.isEmpty() )
             {
-                double diff = datapoint.getX() - lastDataPoint.getX();
+                return;
+            }
+            overviewHandler.addAll( newData );
+            onAdd( newData.get( 0 ), newData.get( newData.length() - 1 ) );
+        }
+
+        /**
+         * Moves the selection if it is locked and keeps track of the first and last datapoints.
+         *
+         * @param first first datapoint added
+         * @param last last datapoint added
+         */
+        private void onAdd( DataPoint first, DataPoint last )
+        {
+            if ( lockSelection && selection[1] < last.getX() )
+            {
+                double diff = last.getX() - lastDataPoint.getX();
                 double x1 = selection[0] + diff;
                 double x2 = selection[1] + diff;
                 setSelection( Math.max( x1, selection[0] ), Math.max( x2, selection[1] ) );
             }
             if ( firstDataPoint == null )
             {
-                firstDataPoint = datapoint;
+                firstDataPoint = first;
             }
-            lastDataPoint = datapoint;
+            lastDataPoint = last;
         }
 
         @Override
@@ -97,6 +125,12 @@ public class PlotWithOverviewModel
             return overviewHandler.isVisible();
         }
 
+        @Override
+        public SeriesStatistics getStatistics()
+        {
+            return overviewHandler.getStatistics();
+        }
+
         @Override
         public void setData( SeriesData newData )
         {
@@ -229,22 +263,15 @@ public class PlotWithOverviewModel
         @Override
         public SeriesData getData( double x1, double x2 )
         {
-            if ( x2 < data.getX( 0 ) || x1 > data.getX( data.length() - 1 ) )
+            if ( data.isEmpty() || x2 < data.getX( 0 ) || x1 > data.getX( data.length() - 1 ) )
             {
                 return SeriesData.create();
             }
-            int start = Algorithm.xBinarySearch( data, x1 );
-            if ( start == -1 )
-            {
-                start = 0;
-            }
-            int end = Algorithm.xBinarySearch( data, x2 );
-            if ( end == -1 )
-            {
-                return data.slice( start );
-            }
+            // the datapoints just outside the range are kept so the lines crossing the borders are drawn
+            int begin = Math.max( 0, Algorithm.xFloor( data, x1 ) );
+            int end = Algorithm.xCeiling( data, x2 );
             // slice method doesn't include the end index
-            return data.slice( start, end + 1 );
+            return end == -1 ? data.slice( begin ) : data.slice( begin, end + 1 );
         }
     }
 
@@ -0,0 +1,444 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.gflot.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gwt.event.shared.HandlerRegistration;
+import com.googlecode.gflot.client.event.PlotLoadEvent;
+import com.googlecode.gflot.client.jsni.Plot;
+import com.googlecode.gflot.client.util.Algorithm;
+
+/**
+ * Strategy keeping all the datapoints added and a pyramid of min/max levels built as they arrive.
+ * <p>
+ * Each block of {@value #FACTOR} consecutive blocks of a level is reduced to its minimum and maximum datapoints in the
+ * next level, the datapoints themselves being the blocks of the first level. The data given to flot is the coarsest
+ * level that still has one block per pixel column on the visible x range, so the cost of a draw does not depend on
+ * the zoom. The datapoints added since the last complete block of that level are summarized by the blocks being built
+ * in the finer levels.
+ * </p>
+ * <p>
+ * The visible range is updated by {@link #setVisibleRange(double, double, int)}, or automatically before each draw once
+ * the strategy is bound to a plot with {@link #bind(SimplePlot)}. The x values must be added in ascending order.
+ * </p>
+ */
+public class PyramidSeriesDataStrategy
+    extends DefaultSeriesDataStrategy
+{
+
+    /**
+     * Number of blocks of a level reduced to a block of the next level
+     */
+    public static final int FACTOR = 4;
+
+    private static final int MAX_LEVELS = 16;
+
+    /**
+     * All the datapoints added
+     */
+    private final SeriesData raw = SeriesData.createColumnar();
+
+    /**
+     * The reduced levels, the first one being made of blocks of {@value #FACTOR} datapoints
+     */
+    private final List<SeriesData> levels = new ArrayList<SeriesData>();
+
+    /* the blocks being built for each level */
+    private final int[] blockCount = new int[MAX_LEVELS];
+    private final double[] blockMinX = new double[MAX_LEVELS];
+    private final double[] blockMinY = new double[MAX_LEVELS];
+    private final double[] blockMaxX = new double[MAX_LEVELS];
+    private final double[] blockMaxY = new double[MAX_LEVELS];
+
+    private double visibleMin = Double.NaN;
+    private double visibleMax = Double.NaN;
+    private int width = SimplePlot.DEFAULT_WIDTH;
+
+    /* the part of the data copied from the displayed level */
+    private int viewLevel;
+    private int viewLevelEnd;
+    private int viewLength;
+
+    /**
+     * The plot following the visible range, null if none
+     */
+    private SimplePlot boundPlot;
+
+    public PyramidSeriesDataStrategy()
+    {
+        super( SeriesData.create() );
+    }
+
+    @Override
+    public void add( DataPoint datapoint )
+    {
+        double lastX = raw.isEmpty() ? Double.NaN : raw.getX( raw.length() - 1 );
+        append( datapoint.getX(), datapoint.getY() );
+        onAppend( lastX );
+    }
+
+    @Override
+    public void addAll( double[] xs, double[] ys )
+    {
+        double lastX = raw.isEmpty() ? Double.NaN : raw.getX( raw.length() - 1 );
+        for ( int i = 0; i < xs.length; i++ )
+        {
+            append( xs[i], ys[i] );
+        }
+        // the data is updated once for the whole batch
+        onAppend( lastX );
+    }
+
+    @Override
+    public void addAll( SeriesData newData )
+    {
+        double lastX = raw.isEmpty() ? Double.NaN : raw.getX( raw.length() - 1 );
+        for ( int i = 0; i < newData.length(); i++ )
+        {
+            append( newData.getX( i ), newData.getY( i ) );
+        }
+        // the data is updated once for the whole batch
+        onAppend( lastX );
+    }
+
+    /**
+     * Updates the data after datapoints have been appended.
+     *
+     * @param lastX x value of the last datapoint before the append, NaN if there was none
+     */
+    private void onAppend( double lastX )
+    {
+        if ( Double.isNaN( visibleMax ) )
+        {
+            // the visible range follows the data
+            appendToView();
+        }
+        else if ( !( lastX > visibleMax ) )
+        {
+            // the datapoint is visible or is the first one after the visible range
+            updateView();
+        }
+    }
+
+    @Override
+    public void clear()
+    {
+        super.clear();
+        raw.clear();
+        levels.clear();
+        for ( int i = 0; i < MAX_LEVELS; i++ )
+        {
+            blockCount[i] = 0;
+        }
+        viewLevel = 0;
+        viewLevelEnd = 0;
+        viewLength = 0;
+    }
+
+    @Override
+    public void setData( SeriesData newData )
+    {
+        clear();
+        for ( int i = 0; i < newData.length(); i++ )
+        {
+            append( newData.getX( i ), newData.getY( i ) );
+        }
+        updateView();
+    }
+
+    /**
+     * @return all the datapoints added
+     */
+    public SeriesData getRawData()
+    {
+        return raw;
+    }
+
+    /**
+     * Sets the x range displayed and the width of the plotting area. The data is updated to the matching level.
+     *
+     * @param min the minimum x value displayed, NaN to display from the first datapoint
+     * @param max the maximum x value displayed, NaN to display up to the last datapoint
+     * @param width the width in pixels of the plotting area
+     */
+    public void setVisibleRange( double min, double max, int width )
+    {
+        this.visibleMin = min;
+        this.visibleMax = max;
+        this.width = width;
+        updateView();
+    }
+
+    /**
+     * Updates the visible range of this strategy before each draw of the given plot, so a zoom or a pan displays the
+     * matching level in the same draw. The range follows the data while the first x axis of the plot has no explicit
+     * minimum and maximum. A strategy is bound to one plot at a time.
+     *
+     * @param plot the plot displaying the series of this strategy
+     * @return the registration unbinding the strategy from the plot
+     */
+    public HandlerRegistration bind( final SimplePlot plot )
+    {
+        width = plot.getWidth();
+        boundPlot = plot;
+        // each flot plot created gets the hook
+        final HandlerRegistration registration = plot.addLoadHandler( new PlotLoadEvent.Handler()
+        {
+            @Override
+            public void onLoad( PlotLoadEvent event )
+            {
+                addDrawHook( plot.getPlot() );
+            }
+        } );
+        if ( plot.isPlotLoaded() )
+        {
+            addDrawHook( plot.getPlot() );
+        }
+        return new HandlerRegistration()
+        {
+            @Override
+            public void removeHandler()
+            {
+                registration.removeHandler();
+                if ( boundPlot == plot )
+                {
+                    boundPlot = null;
+                }
+            }
+        };
+    }
+
+    /**
+     * Adds a hook running before the other drawBackground hooks. The data given to flot by setData during the hook is
+     * the one drawn.
+     */
+    private native void addDrawHook( Plot flot )
+    /*-{
+        var self = this;
+        flot.hooks.drawBackground.unshift(function (plot, ctx) {
+            var axis = plot.getXAxes()[0];
+            var min = axis.options.min != null ? axis.min : NaN;
+            var max = axis.options.max != null ? axis.max : NaN;
+            self.@com.googlecode.gflot.client.PyramidSeriesDataStrategy::onDraw(Lcom/googlecode/gflot/client/jsni/Plot;DDI)(plot, min, max, plot.width());
+        });
+    }-*/;
+
+    /**
+     * Called before the plot is drawn with the x range and width of the plotting area.
+     */
+    private void onDraw( Plot flot, double min, double max, int plotWidth )
+    {
+        if ( null == boundPlot || boundPlot.getPlot() != flot )
+        {
+            return;
+        }
+        if ( sameValue( min, visibleMin ) && sameValue( max, visibleMax ) && plotWidth == width )
+        {
+            return;
+        }
+        setVisibleRange( min, max, plotWidth );
+        flot.setData( boundPlot.getModel().getSeries() );
+    }
+
+    private static boolean sameValue( double a, double b )
+    {
+        return a == b || ( Double.isNaN( a ) && Double.isNaN( b ) );
+    }
+
+    /**
+     * Adds the datapoint to the raw data and to the blocks of the levels.
+     */
+    private void append( double x, double y )
+    {
+        raw.push( x, y );
+        addToBlock( 0, x, y, x, y );
+    }
+
+    /**
+     * Adds a complete block of the previous level to the block being built for the given level.
+     */
+    private void addToBlock( int level, double minX, double minY, double maxX, double maxY )
+    {
+        if ( level >= MAX_LEVELS )
+        {
+            return;
+        }
+        if ( blockCount[level] == 0 )
+        {
+            blockMinX[level] = minX;
+            blockMinY[level] = minY;
+            blockMaxX[level] = maxX;
+            blockMaxY[level] = maxY;
+        }
+        else
+        {
+            if ( minY < blockMinY[level] )
+            {
+                blockMinX[level] = minX;
+                blockMinY[level] = minY;
+            }
+            if ( maxY > blockMaxY[level] )
+            {
+                blockMaxX[level] = maxX;
+                blockMaxY[level] = maxY;
+            }
+        }
+        blockCount[level]++;
+
+        if ( blockCount[level] == FACTOR )
+        {
+            if ( levels.size() == level )
+            {
+                levels.add( SeriesData.createColumnar() );
+            }
+            pushBlock( level, levels.get( level ) );
+            blockCount[level] = 0;
+            addToBlock( level + 1, blockMinX[level], blockMinY[level], blockMaxX[level], blockMaxY[level] );
+        }
+    }
+
+    /**
+     * Pushes the minimum and maximum of the block being built for the given level, in ascending x order.
+     */
+    private void pushBlock( int level, SeriesData target )
+    {
+        if ( blockMinX[level] < blockMaxX[level] )
+        {
+            target.push( blockMinX[level], blockMinY[level] );
+            target.push( blockMaxX[level], blockMaxY[level] );
+        }
+        else if ( blockMinX[level] > blockMaxX[level] )
+        {
+            target.push( blockMaxX[level], blockMaxY[level] );
+            target.push( blockMinX[level], blockMinY[level] );
+        }
+        else
+        {
+            // all the datapoints share the same x value, the vertical segment is kept
+            target.push( blockMinX[level], blockMinY[level] );
+            if ( blockMaxY[level] > blockMinY[level] )
+            {
+                target.push( blockMaxX[level], blockMaxY[level] );
+            }
+        }
+    }
+
+    /**
+     * @return the level to display, 0 being the raw data
+     */
+    private int chooseLevel()
+    {
+        int begin = Double.isNaN( visibleMin ) ? 0 : Algorithm.xLowerBound( raw, visibleMin );
+        int end = Double.isNaN( visibleMax ) ? raw.length() : Algorithm.xUpperBound( raw, visibleMax );
+        int count = end - begin;
+        int level = 0;
+        int blockSize = FACTOR;
+        while ( level < levels.size() && count / blockSize >= width )
+        {
+            level++;
+            blockSize *= FACTOR;
+        }
+        return level;
+    }
+
+    private SeriesData getLevel( int level )
+    {
+        return level == 0 ? raw : levels.get( level - 1 );
+    }
+
+    /**
+     * Copies the visible part of the level to display in the data.
+     */
+    private void updateView()
+    {
+        data.clear();
+        statistics.invalidate();
+        if ( raw.isEmpty() )
+        {
+            viewLevel = 0;
+            viewLevelEnd = 0;
+            viewLength = 0;
+            return;
+        }
+
+        viewLevel = chooseLevel();
+        SeriesData level = getLevel( viewLevel );
+        int length = level.length();
+
+        // the datapoints just outside the visible range are kept so the lines crossing the borders are drawn
+        int begin = Double.isNaN( visibleMin ) ? 0 : Math.max( 0, Algorithm.xLowerBound( level, visibleMin ) - 1 );
+        int end = Double.isNaN( visibleMax ) ? length : Math.min( length,
+            Algorithm.xUpperBound( level, visibleMax ) + 1 );
+        for ( int i = begin; i < end; i++ )
+        {
+            data.push( level.getX( i ), level.getY( i ) );
+        }
+        viewLevelEnd = end;
+        viewLength = data.length();
+
+        if ( end == length )
+        {
+            pushBuildingBlocks();
+        }
+    }
+
+    /**
+     * Appends the datapoints completed in the displayed level since the last update of the data.
+     */
+    private void appendToView()
+    {
+        if ( chooseLevel() != viewLevel || viewLevelEnd > getLevel( viewLevel ).length() )
+        {
+            updateView();
+            return;
+        }
+        SeriesData level = getLevel( viewLevel );
+        data.setLength( viewLength );
+        statistics.invalidate();
+        for ( int i = viewLevelEnd; i < level.length(); i++ )
+        {
+            data.push( level.getX( i ), level.getY( i ) );
+        }
+        viewLevelEnd = level.length();
+        viewLength = data.length();
+        pushBuildingBlocks();
+    }
+
+    /**
+     * Pushes the blocks being built, from the displayed level down to the first one, after the data.
+     */
+    private void pushBuildingBlocks()
+    {
+        for ( int level = viewLevel - 1; level >= 0; level-- )
+        {
+            if ( blockCount[level] > 0 )
+            {
+                pushBlock( level, data );
+            }
+        }
+    }
+}
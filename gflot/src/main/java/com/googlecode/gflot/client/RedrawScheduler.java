@@ -0,0 +1,629 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.gflot.client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.gwt.core.client.Duration;
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.EventTarget;
+import com.google.gwt.user.client.Command;
+import com.google.gwt.user.client.Event;
+import com.google.gwt.user.client.Event.NativePreviewEvent;
+import com.google.gwt.user.client.Event.NativePreviewHandler;
+import com.google.gwt.user.client.Timer;
+import com.google.gwt.user.client.ui.Widget;
+
+/**
+ * Coalesces the redraws of all the plots of the page. A plot whose redraw is requested is marked dirty and is redrawn
+ * once at an animation frame, however many times its redraw has been requested in between.
+ * <p>
+ * The dirty plots are spread across the frames so the redraws of a frame do not take more than the frame budget (see
+ * {@link #setFrameBudget(double)}). At least one plot is redrawn per frame, the other ones are deferred to the next
+ * frame. The plots the user has interacted with in the last {@value #INTERACTION_DELAY} ms are redrawn first, then the
+ * plots inside the viewport, then the other ones. A plot deferred {@value #MAX_DEFERRED_FRAMES} times is redrawn
+ * first whatever its priority.
+ * </p>
+ * <p>
+ * The attached plots outside the viewport or hidden are not redrawn (see {@link #setSuspendHiddenPlots(boolean)}).
+ * Their data keeps being updated and they are redrawn once when they become visible again.
+ * </p>
+ * <p>
+ * The browsers without <code>requestAnimationFrame</code> flush the dirty plots after a timeout of
+ * {@value #FALLBACK_DELAY} ms.
+ * </p>
+ */
+public class RedrawScheduler
+{
+
+    /**
+     * Delay in milliseconds before the flush when <code>requestAnimationFrame</code> is not available
+     */
+    public static final int FALLBACK_DELAY = 16;
+
+    /**
+     * Default frame budget in milliseconds
+     */
+    public static final double DEFAULT_FRAME_BUDGET = 10;
+
+    /**
+     * Delay in milliseconds during which a plot is considered recently interacted
+     */
+    public static final int INTERACTION_DELAY = 2000;
+
+    /**
+     * Number of frames a plot can be deferred before being redrawn first
+     */
+    public static final int MAX_DEFERRED_FRAMES = 10;
+
+    /**
+     * Delay in milliseconds between two checks of the visibility of the suspended plots when
+     * <code>IntersectionObserver</code> is not available
+     */
+    public static final int VISIBILITY_POLL_DELAY = 250;
+
+    private static final int PRIORITY_STARVING = 0;
+    private static final int PRIORITY_INTERACTED = 1;
+    private static final int PRIORITY_VISIBLE = 2;
+    private static final int PRIORITY_HIDDEN = 3;
+    private static final int SUSPENDED = -1;
+
+    private static RedrawScheduler instance;
+
+    /**
+     * @return the scheduler shared by all the plots
+     */
+    public static RedrawScheduler get()
+    {
+        if ( null == instance )
+        {
+            instance = new RedrawScheduler();
+        }
+        return instance;
+    }
+
+    private final Set<PlotWidget> dirty = new LinkedHashSet<PlotWidget>();
+
+    /**
+     * Number of frames each dirty plot has been deferred
+     */
+    private final Map<PlotWidget, Integer> deferred = new HashMap<PlotWidget, Integer>();
+
+    /**
+     * Plots waiting to become visible to be redrawn
+     */
+    private final Set<PlotWidget> suspended = new LinkedHashSet<PlotWidget>();
+
+    private boolean suspendHiddenPlots = true;
+
+    /**
+     * The IntersectionObserver notifying the suspended plots becoming visible, null if not supported
+     */
+    private JavaScriptObject observer;
+
+    /**
+     * Checks the visibility of the suspended plots when IntersectionObserver is not supported
+     */
+    private Timer visibilityTimer;
+
+    private boolean frameRequested;
+
+    private double frameBudget = DEFAULT_FRAME_BUDGET;
+
+    /* the last element the user interacted with */
+    private Element interactionTarget;
+    private double interactionTime;
+
+    /* statistics */
+    private int frameCount;
+    private int redrawCount;
+    private int deferredFrameCount;
+    private int deferredRedrawCount;
+    private int overBudgetFrameCount;
+    private int suspendedCount;
+
+    protected RedrawScheduler()
+    {
+        Event.addNativePreviewHandler( new NativePreviewHandler()
+        {
+            @Override
+            public void onPreviewNativeEvent( NativePreviewEvent event )
+            {
+                switch ( event.getTypeInt() )
+                {
+                    case Event.ONMOUSEDOWN:
+                    case Event.ONMOUSEWHEEL:
+                    case Event.ONKEYDOWN:
+                        EventTarget target = event.getNativeEvent().getEventTarget();
+                        if ( Element.is( target ) )
+                        {
+                            interactionTarget = Element.as( target );
+                            interactionTime = Duration.currentTimeMillis();
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } );
+    }
+
+    /**
+     * Marks the plot dirty. It is redrawn with {@link PlotWidget#redrawNow()} at the next animation frames.
+     *
+     * @param plot the plot to redraw
+     */
+    public void schedule( PlotWidget plot )
+    {
+        if ( suspended.contains( plot ) )
+        {
+            // already waiting to become visible to be redrawn
+            return;
+        }
+        dirty.add( plot );
+        requestFrameIfNeeded();
+    }
+
+    /**
+     * Cancels the pending redraw of the plot, if any. Called when the plot is redrawn immediately.
+     *
+     * @param plot the plot
+     */
+    public void cancel( PlotWidget plot )
+    {
+        dirty.remove( plot );
+        deferred.remove( plot );
+        if ( suspended.remove( plot ) )
+        {
+            unobserve( plot.asWidget().getElement() );
+        }
+    }
+
+    /**
+     * @param plot the plot
+     * @return true if the plot is waiting for an animation frame or to become visible to be redrawn
+     */
+    public boolean isScheduled( PlotWidget plot )
+    {
+        return dirty.contains( plot ) || suspended.contains( plot );
+    }
+
+    /**
+     * @param plot the plot
+     * @return true if the plot is waiting to become visible to be redrawn
+     */
+    public boolean isSuspended( PlotWidget plot )
+    {
+        return suspended.contains( plot );
+    }
+
+    /**
+     * @return true if the redraw of the hidden plots is suspended until they become visible
+     */
+    public boolean isSuspendHiddenPlots()
+    {
+        return suspendHiddenPlots;
+    }
+
+    /**
+     * Sets if the redraw of the attached plots outside the viewport or hidden is suspended until they become visible.
+     * Enabled by default. When disabled, they are redrawn after the visible plots.
+     *
+     * @param suspendHiddenPlots true to suspend the redraw of the hidden plots
+     */
+    public void setSuspendHiddenPlots( boolean suspendHiddenPlots )
+    {
+        this.suspendHiddenPlots = suspendHiddenPlots;
+        if ( !suspendHiddenPlots )
+        {
+            for ( PlotWidget plot : new ArrayList<PlotWidget>( suspended ) )
+            {
+                resume( plot );
+            }
+        }
+    }
+
+    /**
+     * @return the maximum time in milliseconds spent redrawing the plots in a frame
+     */
+    public double getFrameBudget()
+    {
+        return frameBudget;
+    }
+
+    /**
+     * Sets the maximum time in milliseconds spent redrawing the plots in a frame. The plots not redrawn when the budget
+     * is exhausted are deferred to the next frame. At least one plot is redrawn per frame.
+     *
+     * @param frameBudget the budget in milliseconds, 0 or less to redraw all the dirty plots in the same frame
+     */
+    public void setFrameBudget( double frameBudget )
+    {
+        this.frameBudget = frameBudget;
+    }
+
+    /**
+     * Redraws the dirty plots by priority until the frame budget is exhausted. The plots left and the plots marked
+     * dirty during the flush are redrawn at the next animation frame.
+     */
+    public void flush()
+    {
+        frameRequested = false;
+        if ( dirty.isEmpty() )
+        {
+            return;
+        }
+        double start = Duration.currentTimeMillis();
+
+        List<PlotWidget> plots = sortByPriority( start );
+        if ( plots.isEmpty() )
+        {
+            // all the dirty plots are hidden
+            return;
+        }
+        frameCount++;
+        int index = 0;
+        for ( ; index < plots.size(); index++ )
+        {
+            if ( index > 0 && frameBudget > 0 && Duration.currentTimeMillis() - start >= frameBudget )
+            {
+                break;
+            }
+            PlotWidget plot = plots.get( index );
+            // a plot redrawn by another one during the flush has been cancelled
+            if ( dirty.remove( plot ) )
+            {
+                deferred.remove( plot );
+                redrawCount++;
+                plot.redrawNow();
+            }
+        }
+
+        if ( frameBudget > 0 && Duration.currentTimeMillis() - start > frameBudget )
+        {
+            overBudgetFrameCount++;
+        }
+        if ( index < plots.size() )
+        {
+            deferredFrameCount++;
+            for ( ; index < plots.size(); index++ )
+            {
+                PlotWidget plot = plots.get( index );
+                if ( dirty.contains( plot ) )
+                {
+                    deferredRedrawCount++;
+                    Integer count = deferred.get( plot );
+                    deferred.put( plot, null == count ? 1 : count + 1 );
+                }
+            }
+        }
+        requestFrameIfNeeded();
+    }
+
+    /**
+     * Suspends the hidden plots and sorts the other dirty plots by priority.
+     */
+    private List<PlotWidget> sortByPriority( double now )
+    {
+        final Map<PlotWidget, Integer> priorities = new HashMap<PlotWidget, Integer>();
+        boolean recentInteraction = null != interactionTarget && now - interactionTime < INTERACTION_DELAY;
+        for ( PlotWidget plot : dirty )
+        {
+            Widget widget = plot.asWidget();
+            Element element = widget.getElement();
+            Integer count = deferred.get( plot );
+            int priority;
+            if ( !widget.isAttached() )
+            {
+                // nothing is drawn, the plot is created again once attached
+                priority = PRIORITY_VISIBLE;
+            }
+            else if ( suspendHiddenPlots && !isInViewport( element ) )
+            {
+                priority = SUSPENDED;
+            }
+            else if ( null != count && count >= MAX_DEFERRED_FRAMES )
+            {
+                priority = PRIORITY_STARVING;
+            }
+            else if ( recentInteraction && element.isOrHasChild( interactionTarget ) )
+            {
+                priority = PRIORITY_INTERACTED;
+            }
+            else if ( isInViewport( element ) )
+            {
+                priority = PRIORITY_VISIBLE;
+            }
+            else
+            {
+                priority = PRIORITY_HIDDEN;
+            }
+            priorities.put( plot, priority );
+        }
+
+        List<PlotWidget> plots = new ArrayList<PlotWidget>();
+        for ( Map.Entry<PlotWidget, Integer> entry : priorities.entrySet() )
+        {
+            if ( entry.getValue() == SUSPENDED )
+            {
+                suspend( entry.getKey() );
+            }
+        }
+        for ( PlotWidget plot : dirty )
+        {
+            plots.add( plot );
+        }
+
+        // the sort is stable, the plots of the same priority are redrawn in the order they were marked dirty
+        Collections.sort( plots, new Comparator<PlotWidget>()
+        {
+            @Override
+            public int compare( PlotWidget o1, PlotWidget o2 )
+            {
+                return priorities.get( o1 ) - priorities.get( o2 );
+            }
+        } );
+        return plots;
+    }
+
+    private void suspend( PlotWidget plot )
+    {
+        dirty.remove( plot );
+        deferred.remove( plot );
+        suspended.add( plot );
+        suspendedCount++;
+        if ( null == observer && null == visibilityTimer )
+        {
+            observer = createObserver();
+            if ( null == observer )
+            {
+                visibilityTimer = new Timer()
+                {
+                    @Override
+                    public void run()
+                    {
+                        checkSuspendedPlots();
+                    }
+                };
+            }
+        }
+        if ( null != observer )
+        {
+            observe( observer, plot.asWidget().getElement() );
+        }
+        else
+        {
+            visibilityTimer.scheduleRepeating( VISIBILITY_POLL_DELAY );
+        }
+    }
+
+    /**
+     * Schedules the redraw of a suspended plot.
+     */
+    private void resume( PlotWidget plot )
+    {
+        if ( suspended.remove( plot ) )
+        {
+            unobserve( plot.asWidget().getElement() );
+            schedule( plot );
+        }
+    }
+
+    /**
+     * Called by the IntersectionObserver when an observed element becomes visible.
+     */
+    private void onVisible( Element element )
+    {
+        for ( PlotWidget plot : new ArrayList<PlotWidget>( suspended ) )
+        {
+            if ( !plot.asWidget().isAttached() )
+            {
+                cancel( plot );
+                continue;
+            }
+            if ( plot.asWidget().getElement() == element )
+            {
+                resume( plot );
+            }
+        }
+    }
+
+    private void checkSuspendedPlots()
+    {
+        for ( PlotWidget plot : new ArrayList<PlotWidget>( suspended ) )
+        {
+            if ( !plot.asWidget().isAttached() )
+            {
+                // detached without being cancelled, it is created again once attached
+                cancel( plot );
+            }
+            else if ( isInViewport( plot.asWidget().getElement() ) )
+            {
+                resume( plot );
+            }
+        }
+    }
+
+    private void unobserve( Element element )
+    {
+        if ( null != observer )
+        {
+            unobserve( observer, element );
+        }
+        else if ( null != visibilityTimer && suspended.isEmpty() )
+        {
+            visibilityTimer.cancel();
+        }
+    }
+
+    private void requestFrameIfNeeded()
+    {
+        if ( !frameRequested && !dirty.isEmpty() )
+        {
+            frameRequested = true;
+            requestFrame();
+        }
+    }
+
+    /**
+     * @return the number of frames where plots have been redrawn
+     */
+    public int getFrameCount()
+    {
+        return frameCount;
+    }
+
+    /**
+     * @return the number of plots redrawn
+     */
+    public int getRedrawCount()
+    {
+        return redrawCount;
+    }
+
+    /**
+     * @return the number of frames where the budget was exhausted before all the dirty plots were redrawn
+     */
+    public int getDeferredFrameCount()
+    {
+        return deferredFrameCount;
+    }
+
+    /**
+     * @return the number of times a dirty plot has been deferred to the next frame
+     */
+    public int getDeferredRedrawCount()
+    {
+        return deferredRedrawCount;
+    }
+
+    /**
+     * @return the number of frames where the redraws took longer than the budget
+     */
+    public int getOverBudgetFrameCount()
+    {
+        return overBudgetFrameCount;
+    }
+
+    /**
+     * @return the number of times a dirty plot has been suspended because it was hidden
+     */
+    public int getSuspendedCount()
+    {
+        return suspendedCount;
+    }
+
+    /**
+     * Resets the statistics.
+     */
+    public void resetStatistics()
+    {
+        frameCount = 0;
+        redrawCount = 0;
+        deferredFrameCount = 0;
+        deferredRedrawCount = 0;
+        overBudgetFrameCount = 0;
+        suspendedCount = 0;
+    }
+
+    private static native boolean isInViewport( Element element )
+    /*-{
+        if (!element.getBoundingClientRect) {
+            return true;
+        }
+        var rect = element.getBoundingClientRect();
+        var width = $wnd.innerWidth || $doc.documentElement.clientWidth;
+        var height = $wnd.innerHeight || $doc.documentElement.clientHeight;
+        // an element not displayed has an empty rectangle. The edges are included like IntersectionObserver does.
+        return (rect.width > 0 || rect.height > 0) && rect.bottom >= 0 && rect.right >= 0 && rect.top <= height
+            && rect.left <= width;
+    }-*/;
+
+    /**
+     * @return an IntersectionObserver calling {@link #onVisible(Element)}, null if not supported
+     */
+    private native JavaScriptObject createObserver()
+    /*-{
+        if (!$wnd.IntersectionObserver) {
+            return null;
+        }
+        var self = this;
+        return new $wnd.IntersectionObserver($entry(function (entries) {
+            for (var i = 0; i < entries.length; i++) {
+                if (entries[i].isIntersecting) {
+                    self.@com.googlecode.gflot.client.RedrawScheduler::onVisible(Lcom/google/gwt/dom/client/Element;)(entries[i].target);
+                }
+            }
+        }));
+    }-*/;
+
+    private static native void observe( JavaScriptObject observer, Element element )
+    /*-{
+        observer.observe(element);
+    }-*/;
+
+    private static native void unobserve( JavaScriptObject observer, Element element )
+    /*-{
+        observer.unobserve(element);
+    }-*/;
+
+    private void requestFrame()
+    {
+        requestAnimationFrame( new Command()
+        {
+            @Override
+            public void execute()
+            {
+                flush();
+            }
+        } );
+    }
+
+    /**
+     * Executes the command at the next animation frame, or after {@value #FALLBACK_DELAY} ms when
+     * <code>requestAnimationFrame</code> is not available.
+     *
+     * @param command the command
+     */
+    static native void requestAnimationFrame( Command command )
+    /*-{
+        var callback = $entry(function () {
+            command.@com.google.gwt.user.client.Command::execute()();
+        });
+        if ($wnd.requestAnimationFrame) {
+            $wnd.requestAnimationFrame(callback);
+        } else {
+            $wnd.setTimeout(callback, @com.googlecode.gflot.client.RedrawScheduler::FALLBACK_DELAY);
+        }
+    }-*/;
+}
@@ -25,19 +25,93 @@
 package com.googlecode.gflot.client;
 
 import com.google.gwt.core.client.JavaScriptObject;
+import com.googlecode.gflot.client.util.Algorithm;
 
 /**
+ * Data of a series.
+ * <p>
+ * By default, the data is a javascript array of {@link DataPoint}. A columnar {@link SeriesData} created with
+ * {@link #createColumnar()} stores the coordinates in growable typed arrays, one per column, instead of allocating an
+ * array for each datapoint. It is read directly by the columnar flot plugin so flot gets its datapoints without
+ * going through intermediate arrays.
+ * </p>
+ * <p>
+ * A columnar {@link SeriesData} only accepts numeric coordinates and the plugins reading the raw data (categories,
+ * fill area) are not supported. {@link #get(int)} returns a new {@link DataPoint} built from the columns so
+ * prefer {@link #getX(int)} and {@link #getY(int)} to read it.
+ * </p>
+ *
  * @author AlexanderDeleon
  */
 public class SeriesData
     extends JavaScriptObject
 {
 
+    private static final int DEFAULT_COLUMNAR_CAPACITY = 64;
+
     public static final SeriesData create()
     {
         return createArray().cast();
     }
 
+    /**
+     * Creates an empty columnar {@link SeriesData}.
+     *
+     * @return an empty columnar {@link SeriesData}
+     */
+    public static final SeriesData createColumnar()
+    {
+        return createColumnar( DEFAULT_COLUMNAR_CAPACITY );
+    }
+
+    /**
+     * Creates an empty columnar {@link SeriesData}. The columns grow automatically when the capacity is exceeded.
+     * <p>
+     * The columns are used as circular buffers: removing the first datapoint with {@link #shift()} only moves the
+     * start of the data. Pushing a datapoint after a shift reuses the freed slot so a data kept at a fixed size never
+     * reallocates nor moves its datapoints.
+     * </p>
+     *
+     * @param initialCapacity number of datapoints the columns can hold before growing
+     * @return an empty columnar {@link SeriesData}
+     */
+    public static final native SeriesData createColumnar( int initialCapacity )
+    /*-{
+        var capacity = Math.max(initialCapacity, 1);
+        return {
+            columnar : true,
+            length : 0,
+            head : 0,
+            version : 0,
+            x : @com.googlecode.gflot.client.SeriesData::createColumn(I)(capacity),
+            y : @com.googlecode.gflot.client.SeriesData::createColumn(I)(capacity),
+            z : null
+        };
+    }-*/;
+
+    /**
+     * Creates a columnar {@link SeriesData} containing the given coordinates.
+     *
+     * @param xs the x values
+     * @param ys the y values, must have the same length as xs
+     * @return a columnar {@link SeriesData}
+     */
+    public static final SeriesData createColumnar( double[] xs, double[] ys )
+    {
+        assert xs.length == ys.length : "xs and ys must have the same length";
+        SeriesData data = createColumnar( xs.length );
+        for ( int i = 0; i < xs.length; i++ )
+        {
+            data.push( xs[i], ys[i] );
+        }
+        return data;
+    }
+
+    private static native JavaScriptObject createColumn( int capacity )
+    /*-{
+        return $wnd.Float64Array ? new $wnd.Float64Array(capacity) : new Array(capacity);
+    }-*/;
+
     /**
      * default constructor
      */
@@ -46,6 +120,14 @@ public class SeriesData
         // empty
     }
 
+    /**
+     * @return true if the coordinates are stored in columns, false if the data is an array of {@link DataPoint}
+     */
+    public final native boolean isColumnar()
+    /*-{
+        return !!this.columnar;
+    }-*/;
+
     /**
      * Gets the number of datapoint.
      *
@@ -62,6 +144,24 @@ public class SeriesData
      * @param newLength the new length of the array
      */
     final native void setLength( int newLength ) /*-{
+        if (this.columnar) {
+            if (newLength > this.length) {
+                this.@com.googlecode.gflot.client.SeriesData::ensureCapacity(I)(newLength);
+                for (var i = this.length; i < newLength; i++) {
+                    var p = this.@com.googlecode.gflot.client.SeriesData::physical(I)(i);
+                    this.x[p] = NaN;
+                    this.y[p] = NaN;
+                    if (this.z) {
+                        this.z[p] = NaN;
+                    }
+                }
+            } else if (newLength < this.length) {
+                this.version++;
+                if (newLength == 0) {
+                    this.head = 0;
+                }
+            }
+        }
         this.length = newLength;
     }-*/;
 
@@ -73,6 +173,20 @@ public class SeriesData
      */
     public final native DataPoint get( int index )
     /*-{
+        if (this.columnar) {
+            if (index < 0 || index >= this.length) {
+                return null;
+            }
+            var p = index + this.head;
+            if (this.head && p >= this.x.length) {
+                p -= this.x.length;
+            }
+            var z = this.z;
+            if (z && z[p] === z[p]) {
+                return [ this.x[p], this.y[p], z[p] ];
+            }
+            return [ this.x[p], this.y[p] ];
+        }
         return this[index];
     }-*/;
 
@@ -85,7 +199,16 @@ public class SeriesData
      */
     final native void set( int index, DataPoint value )
     /*-{
-        this[index] = value;
+        if (this.columnar) {
+            if (index >= this.length) {
+                this.@com.googlecode.gflot.client.SeriesData::setLength(I)(index + 1);
+            } else {
+                this.version++;
+            }
+            this.@com.googlecode.gflot.client.SeriesData::write(ILcom/googlecode/gflot/client/DataPoint;)(index, value);
+        } else {
+            this[index] = value;
+        }
     }-*/;
 
     /**
@@ -93,7 +216,118 @@ public class SeriesData
      */
     final native void push( DataPoint value )
     /*-{
-        this[this.length] = value;
+        if (this.columnar) {
+            this.@com.googlecode.gflot.client.SeriesData::ensureCapacity(I)(this.length + 1);
+            this.@com.googlecode.gflot.client.SeriesData::write(ILcom/googlecode/gflot/client/DataPoint;)(this.length, value);
+            this.length++;
+        } else {
+            this[this.length] = value;
+        }
+    }-*/;
+
+    /**
+     * Pushes a datapoint with the given coordinates onto the end of the array.
+     *
+     * @param x Coordinate for x axis
+     * @param y Coordinate for y axis
+     */
+    final native void push( double x, double y )
+    /*-{
+        if (this.columnar) {
+            this.@com.googlecode.gflot.client.SeriesData::ensureCapacity(I)(this.length + 1);
+            var p = this.@com.googlecode.gflot.client.SeriesData::physical(I)(this.length);
+            this.x[p] = x;
+            this.y[p] = y;
+            if (this.z) {
+                this.z[p] = NaN;
+            }
+            this.length++;
+        } else {
+            this[this.length] = [ x, y ];
+        }
+    }-*/;
+
+    /**
+     * Pushes the datapoints of the source between begin (inclusive) and end (exclusive) at the end of the array.
+     * Columnar datapoints without third value are copied without creating a {@link DataPoint}.
+     *
+     * @param source the data to copy
+     * @param begin index of the first datapoint to copy
+     * @param end index after the last datapoint to copy
+     */
+    final native void pushAll( SeriesData source, int begin, int end )
+    /*-{
+        for (var i = begin; i < end; i++) {
+            if (source.columnar) {
+                var p = source.@com.googlecode.gflot.client.SeriesData::physical(I)(i);
+                var z = source.z ? source.z[p] : NaN;
+                if (z === z) {
+                    this.@com.googlecode.gflot.client.SeriesData::push(Lcom/googlecode/gflot/client/DataPoint;)([ source.x[p], source.y[p], z ]);
+                } else {
+                    this.@com.googlecode.gflot.client.SeriesData::push(DD)(source.x[p], source.y[p]);
+                }
+            } else {
+                this.@com.googlecode.gflot.client.SeriesData::push(Lcom/googlecode/gflot/client/DataPoint;)(source[i]);
+            }
+        }
+    }-*/;
+
+    /**
+     * Copies the datapoint at index from to index to.
+     *
+     * @param from index of the datapoint to copy
+     * @param to index to copy the datapoint to
+     */
+    final native void move( int from, int to )
+    /*-{
+        if (from == to) {
+            return;
+        }
+        if (this.columnar) {
+            var f = this.@com.googlecode.gflot.client.SeriesData::physical(I)(from);
+            var t = this.@com.googlecode.gflot.client.SeriesData::physical(I)(to);
+            this.x[t] = this.x[f];
+            this.y[t] = this.y[f];
+            if (this.z) {
+                this.z[t] = this.z[f];
+            }
+            this.version++;
+        } else {
+            this[to] = this[from];
+        }
+    }-*/;
+
+    /**
+     * Copies the datapoints at index first and second to index to and to + 1. Both datapoints are read before being
+     * written so the indexes may overlap.
+     *
+     * @param first index of the datapoint to copy at index to
+     * @param second index of the datapoint to copy at index to + 1
+     * @param to index to copy the first datapoint to
+     */
+    final native void movePair( int first, int second, int to )
+    /*-{
+        if (this.columnar) {
+            var f = this.@com.googlecode.gflot.client.SeriesData::physical(I)(first);
+            var s = this.@com.googlecode.gflot.client.SeriesData::physical(I)(second);
+            var t = this.@com.googlecode.gflot.client.SeriesData::physical(I)(to);
+            var u = this.@com.googlecode.gflot.client.SeriesData::physical(I)(to + 1);
+            var fx = this.x[f], fy = this.y[f], sx = this.x[s], sy = this.y[s];
+            this.x[t] = fx;
+            this.y[t] = fy;
+            this.x[u] = sx;
+            this.y[u] = sy;
+            if (this.z) {
+                var fz = this.z[f], sz = this.z[s];
+                this.z[t] = fz;
+                this.z[u] = sz;
+            }
+            this.version++;
+        } else {
+            var p = this[first], q = this[second];
+            this[to] = p;
+            this[to + 1] = q;
+        }
     }-*/;
 
     /**
@@ -103,9 +337,48 @@ public class SeriesData
      */
     final native DataPoint shift()
     /*-{
+        if (this.columnar) {
+            var first = this.@com.googlecode.gflot.client.SeriesData::get(I)(0);
+            this.@com.googlecode.gflot.client.SeriesData::shift(I)(1);
+            return first;
+        }
         return this.shift();
     }-*/;
 
+    /**
+     * Shifts the first values off the array in one operation. On columnar data, it only moves the start of the data.
+     *
+     * @param count number of values to remove
+     */
+    final native void shift( int count )
+    /*-{
+        count = Math.min(count, this.length);
+        if (count <= 0) {
+            return;
+        }
+        if (this.columnar) {
+            if (this.x.subarray) {
+                this.head += count;
+                if (this.head >= this.x.length) {
+                    this.head -= this.x.length;
+                }
+            } else {
+                this.x.splice(0, count);
+                this.y.splice(0, count);
+                if (this.z) {
+                    this.z.splice(0, count);
+                }
+            }
+            this.length -= count;
+            this.version++;
+            if (this.length == 0) {
+                this.head = 0;
+            }
+        } else {
+            this.splice(0, count);
+        }
+    }-*/;
+
     /**
      * Shifts a value onto the beginning of the array.
      *
@@ -113,7 +386,23 @@ public class SeriesData
      */
     final native void unshift( DataPoint value )
     /*-{
-        this.unshift(value);
+        if (this.columnar) {
+            this.@com.googlecode.gflot.client.SeriesData::ensureCapacity(I)(this.length + 1);
+            if (this.x.subarray) {
+                this.head = (this.head == 0 ? this.x.length : this.head) - 1;
+            } else {
+                this.x.unshift(NaN);
+                this.y.unshift(NaN);
+                if (this.z) {
+                    this.z.unshift(NaN);
+                }
+            }
+            this.length++;
+            this.version++;
+            this.@com.googlecode.gflot.client.SeriesData::write(ILcom/googlecode/gflot/client/DataPoint;)(0, value);
+        } else {
+            this.unshift(value);
+        }
     }-*/;
 
     public final boolean isEmpty()
@@ -121,14 +410,134 @@ public class SeriesData
         return length() == 0;
     }
 
-    public final double getX( int index )
+    public final native double getX( int index )
+    /*-{
+        if (this.columnar) {
+            var p = index + this.head;
+            return this.x[this.head && p >= this.x.length ? p - this.x.length : p];
+        }
+        return this[index][0];
+    }-*/;
+
+    public final native double getY( int index )
+    /*-{
+        if (this.columnar) {
+            var p = index + this.head;
+            return this.y[this.head && p >= this.y.length ? p - this.y.length : p];
+        }
+        return this[index][1];
+    }-*/;
+
+    /**
+     * @param xValue the x value to search
+     * @return the index of the first datapoint whose x value is greater than or equal to xValue, or the length of the
+     * data if there is none
+     * @see Algorithm#xLowerBound(SeriesData, double)
+     */
+    public final int xLowerBound( double xValue )
+    {
+        return Algorithm.xLowerBound( this, xValue );
+    }
+
+    /**
+     * @param fromIndex the index of the first datapoint searched
+     * @param toIndex the index following the last datapoint searched
+     * @param xValue the x value to search
+     * @return the index of the first datapoint whose x value is greater than or equal to xValue, or toIndex if there is
+     * none
+     * @see Algorithm#xLowerBound(SeriesData, int, int, double)
+     */
+    public final int xLowerBound( int fromIndex, int toIndex, double xValue )
     {
-        return get( index ).getX();
+        return Algorithm.xLowerBound( this, fromIndex, toIndex, xValue );
     }
 
-    public final double getY( int index )
+    /**
+     * @param xValue the x value to search
+     * @return the index of the first datapoint whose x value is greater than xValue, or the length of the data if there
+     * is none
+     * @see Algorithm#xUpperBound(SeriesData, double)
+     */
+    public final int xUpperBound( double xValue )
     {
-        return get( index ).getY();
+        return Algorithm.xUpperBound( this, xValue );
+    }
+
+    /**
+     * @param fromIndex the index of the first datapoint searched
+     * @param toIndex the index following the last datapoint searched
+     * @param xValue the x value to search
+     * @return the index of the first datapoint whose x value is greater than xValue, or toIndex if there is none
+     * @see Algorithm#xUpperBound(SeriesData, int, int, double)
+     */
+    public final int xUpperBound( int fromIndex, int toIndex, double xValue )
+    {
+        return Algorithm.xUpperBound( this, fromIndex, toIndex, xValue );
+    }
+
+    /**
+     * @param xValue the x value to search
+     * @return the index of the first datapoint whose x value is greater than or equal to xValue, or the length of the
+     * data if there is none
+     * @see Algorithm#xInterpolationLowerBound(SeriesData, double)
+     */
+    public final int xInterpolationLowerBound( double xValue )
+    {
+        return Algorithm.xInterpolationLowerBound( this, xValue );
+    }
+
+    /**
+     * @param xValue the x value to search
+     * @return the index of the last datapoint whose x value is less than or equal to xValue, or -1 if there is none
+     * @see Algorithm#xFloor(SeriesData, double)
+     */
+    public final int xFloor( double xValue )
+    {
+        return Algorithm.xFloor( this, xValue );
+    }
+
+    /**
+     * @param xValue the x value to search
+     * @return the index of the first datapoint whose x value is greater than or equal to xValue, or -1 if there is none
+     * @see Algorithm#xCeiling(SeriesData, double)
+     */
+    public final int xCeiling( double xValue )
+    {
+        return Algorithm.xCeiling( this, xValue );
+    }
+
+    /**
+     * @param xValue the x value to search
+     * @return the index of the datapoint whose x value is the closest to xValue, or -1 if the data is empty
+     * @see Algorithm#xNearest(SeriesData, double)
+     */
+    public final int xNearest( double xValue )
+    {
+        return Algorithm.xNearest( this, xValue );
+    }
+
+    /**
+     * @param x1 the minimum x value
+     * @param x2 the maximum x value
+     * @param span array of at least 2 elements receiving the index of the first datapoint in the range and the index
+     * following the last one
+     * @return the number of datapoints whose x value is between x1 and x2, both inclusive
+     * @see Algorithm#xRange(SeriesData, double, double, int[])
+     */
+    public final int xRange( double x1, double x2, int[] span )
+    {
+        return Algorithm.xRange( this, x1, x2, span );
+    }
+
+    /**
+     * @param xValue the x value to search
+     * @return the index of a datapoint whose x value is equal to xValue, the closest of the two datapoints around it,
+     * or -1 if xValue is outside the range of the data
+     * @see Algorithm#xBinarySearch(SeriesData, double)
+     */
+    public final int xBinarySearch( double xValue )
+    {
+        return Algorithm.xBinarySearch( this, xValue );
     }
 
     /**
@@ -141,6 +550,9 @@ public class SeriesData
      */
     public final native SeriesData slice( int begin )
     /*-{
+        if (this.columnar) {
+            return this.@com.googlecode.gflot.client.SeriesData::sliceColumns(II)(begin, this.length);
+        }
         return this.slice(begin);
     }-*/;
 
@@ -158,6 +570,9 @@ public class SeriesData
      */
     public final native SeriesData slice( int begin, int end )
     /*-{
+        if (this.columnar) {
+            return this.@com.googlecode.gflot.client.SeriesData::sliceColumns(II)(begin, end);
+        }
         return this.slice(begin, end);
     }-*/;
 
@@ -166,13 +581,148 @@ public class SeriesData
         setLength( 0 );
     }
 
-    final void setData( SeriesData data )
-    {
-        clear();
-        for ( int i = 0; i < data.length(); i++ )
-        {
-            push( data.get( i ) );
+    /**
+     * Replaces the content of this array by the content of the given data. This array stays the same object so the
+     * series referencing it see the new data. Columnar data is copied column by column and an array of
+     * {@link DataPoint} only copies the references, nothing is pushed one by one unless the representations differ.
+     *
+     * @param source the new content
+     */
+    final native void setData( SeriesData source )
+    /*-{
+        if (source === this) {
+            return;
         }
-    }
+        var length = source.length;
+        if (this.columnar && source.columnar) {
+            this.length = 0;
+            this.head = 0;
+            this.@com.googlecode.gflot.client.SeriesData::ensureCapacity(I)(length);
+            if (source.z && !this.z) {
+                this.z = @com.googlecode.gflot.client.SeriesData::createColumn(I)(this.x.length);
+            }
+            @com.googlecode.gflot.client.SeriesData::copyColumns(Lcom/googlecode/gflot/client/SeriesData;ILcom/googlecode/gflot/client/SeriesData;I)(source, 0, this, length);
+            if (this.z && !source.z) {
+                for (var i = 0; i < length; i++) {
+                    this.z[i] = NaN;
+                }
+            }
+            this.length = length;
+            this.version++;
+        } else if (!this.columnar && !source.columnar) {
+            this.length = length;
+            for (var i = 0; i < length; i++) {
+                this[i] = source[i];
+            }
+        } else {
+            this.@com.googlecode.gflot.client.SeriesData::setLength(I)(0);
+            if (this.columnar) {
+                this.@com.googlecode.gflot.client.SeriesData::ensureCapacity(I)(length);
+            }
+            this.@com.googlecode.gflot.client.SeriesData::pushAll(Lcom/googlecode/gflot/client/SeriesData;II)(source, 0, length);
+        }
+    }-*/;
+
+    /* ------------------ Columnar helpers -- */
+
+    /**
+     * @return the position in the columns of the datapoint at the given index
+     */
+    private final native int physical( int index )
+    /*-{
+        var p = index + this.head;
+        return this.head && p >= this.x.length ? p - this.x.length : p;
+    }-*/;
+
+    private final native SeriesData sliceColumns( int begin, int end )
+    /*-{
+        var length = this.length;
+        begin = begin < 0 ? Math.max(length + begin, 0) : Math.min(begin, length);
+        end = end < 0 ? Math.max(length + end, 0) : Math.min(end, length);
+        var count = Math.max(end - begin, 0);
+        var result = @com.googlecode.gflot.client.SeriesData::createColumnar(I)(count);
+        if (this.z) {
+            result.z = @com.googlecode.gflot.client.SeriesData::createColumn(I)(result.x.length);
+        }
+        @com.googlecode.gflot.client.SeriesData::copyColumns(Lcom/googlecode/gflot/client/SeriesData;ILcom/googlecode/gflot/client/SeriesData;I)(this, begin, result, count);
+        result.length = count;
+        return result;
+    }-*/;
+
+    private final native void ensureCapacity( int capacity )
+    /*-{
+        var current = this.x.length;
+        // plain arrays grow by themselves
+        if (capacity <= current || !this.x.subarray) {
+            return;
+        }
+        var newCapacity = Math.max(capacity, current * 2);
+        var grown = {
+            head : 0,
+            x : @com.googlecode.gflot.client.SeriesData::createColumn(I)(newCapacity),
+            y : @com.googlecode.gflot.client.SeriesData::createColumn(I)(newCapacity),
+            z : this.z ? @com.googlecode.gflot.client.SeriesData::createColumn(I)(newCapacity) : null
+        };
+        @com.googlecode.gflot.client.SeriesData::copyColumns(Lcom/googlecode/gflot/client/SeriesData;ILcom/googlecode/gflot/client/SeriesData;I)(this, 0, grown, this.length);
+        this.x = grown.x;
+        this.y = grown.y;
+        this.z = grown.z;
+        this.head = 0;
+    }-*/;
+
+    private final native void write( int index, DataPoint value )
+    /*-{
+        var p = this.@com.googlecode.gflot.client.SeriesData::physical(I)(index);
+        this.x[p] = value[0];
+        this.y[p] = value[1];
+        if (value.length > 2) {
+            if (!this.z) {
+                var z = @com.googlecode.gflot.client.SeriesData::createColumn(I)(this.x.length);
+                for (var i = 0; i < z.length; i++) {
+                    z[i] = NaN;
+                }
+                this.z = z;
+            }
+            this.z[p] = value[2];
+        } else if (this.z) {
+            this.z[p] = NaN;
+        }
+    }-*/;
+
+    /**
+     * Copies count datapoints of the source starting at sourceIndex at the beginning of the target columns. The
+     * target must not be wrapped around.
+     */
+    private static native void copyColumns( SeriesData source, int sourceIndex, SeriesData target, int count )
+    /*-{
+        if (count <= 0) {
+            return;
+        }
+        var capacity = source.x.length;
+        var start = sourceIndex + source.head;
+        if (source.head && start >= capacity) {
+            start -= capacity;
+        }
+        var first = Math.min(count, capacity - start);
+        var columns = [ 'x', 'y', 'z' ];
+        for (var i = 0; i < columns.length; i++) {
+            var from = source[columns[i]];
+            var to = target[columns[i]];
+            if (!from || !to) {
+                continue;
+            }
+            if (to.set && from.subarray) {
+                to.set(from.subarray(start, start + first), 0);
+                if (first < count) {
+                    to.set(from.subarray(0, count - first), first);
+                }
+            } else {
+                for (var k = 0; k < count; k++) {
+                    var p = start + k;
+                    to[k] = from[p < capacity ? p : p - capacity];
+                }
+            }
+        }
+    }-*/;
 
 }
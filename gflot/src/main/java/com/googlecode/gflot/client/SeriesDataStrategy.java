@@ -33,6 +33,21 @@ public interface SeriesDataStrategy
      */
     void add( DataPoint datapoint );
 
+    /**
+     * Add several datapoints at once
+     * 
+     * @param xs x values of the datapoints
+     * @param ys y values of the datapoints, same length as xs
+     */
+    void addAll( double[] xs, double[] ys );
+
+    /**
+     * Add several datapoints at once
+     * 
+     * @param newData datapoints to add
+     */
+    void addAll( SeriesData newData );
+
     /**
      * Clear data
      */
@@ -50,4 +65,9 @@ public interface SeriesDataStrategy
      */
     void setData( SeriesData newData );
 
+    /**
+     * @return the statistics of the data, maintained as the datapoints are added and removed
+     */
+    SeriesStatistics getStatistics();
+
 }
@@ -34,6 +34,21 @@ public interface SeriesHandler
      */
     void add( DataPoint datapoint );
 
+    /**
+     * Add several datapoints at once
+     * 
+     * @param xs x values of the datapoints
+     * @param ys y values of the datapoints, same length as xs
+     */
+    void addAll( double[] xs, double[] ys );
+
+    /**
+     * Add several datapoints at once
+     * 
+     * @param newData datapoints to add
+     */
+    void addAll( SeriesData newData );
+
     /**
      * Clear data
      */
@@ -68,4 +83,9 @@ public interface SeriesHandler
      */
     void setData( SeriesData newData );
 
+    /**
+     * @return the statistics of the data, maintained as the datapoints are added and removed
+     */
+    SeriesStatistics getStatistics();
+
 }
\ No newline at end of file
@@ -0,0 +1,448 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.gflot.client;
+
+/**
+ * Statistics of the datapoints of a series: number of datapoints, minimum and maximum x and y values and sum of the y
+ * values.
+ * <p>
+ * The statistics are maintained incrementally: the datapoints appended to the data are taken into account the next
+ * time the statistics are read, and the datapoints removed from the beginning of the data are taken out with monotonic
+ * deques, so the data is never scanned again. Only a modification of the data that is neither an append nor a removal
+ * of the first datapoints requires to compute them again. The last datapoints can also be declared replaceable with
+ * {@link #setReplaceable(int)}: they are combined with the statistics on each read instead of being taken into
+ * account, so replacing them does not require to compute the statistics again.
+ * </p>
+ * <p>
+ * NaN coordinates are counted but ignored by the other statistics. When there is no datapoint, the minimum and maximum
+ * are NaN.
+ * </p>
+ */
+public class SeriesStatistics
+{
+
+    /**
+     * Deque of the values that can still become the minimum (or maximum) of a window when the older values are
+     * removed. The values are kept sorted, the front being the current minimum (or maximum).
+     */
+    private static final class MonotonicDeque
+    {
+        private final boolean min;
+        private double[] values = new double[16];
+        private double[] sequences = new double[16];
+        private int head;
+        private int tail;
+
+        MonotonicDeque( boolean min )
+        {
+            this.min = min;
+        }
+
+        void push( double value, double sequence )
+        {
+            while ( tail > head && ( min ? values[tail - 1] >= value : values[tail - 1] <= value ) )
+            {
+                tail--;
+            }
+            if ( tail == values.length )
+            {
+                int size = tail - head;
+                if ( size * 2 > values.length )
+                {
+                    double[] newValues = new double[values.length * 2];
+                    double[] newSequences = new double[values.length * 2];
+                    System.arraycopy( values, head, newValues, 0, size );
+                    System.arraycopy( sequences, head, newSequences, 0, size );
+                    values = newValues;
+                    sequences = newSequences;
+                }
+                else
+                {
+                    System.arraycopy( values, head, values, 0, size );
+                    System.arraycopy( sequences, head, sequences, 0, size );
+                }
+                head = 0;
+                tail = size;
+            }
+            values[tail] = value;
+            sequences[tail] = sequence;
+            tail++;
+        }
+
+        /**
+         * Removes the values added before the given sequence number.
+         */
+        void removeBefore( double sequence )
+        {
+            while ( tail > head && sequences[head] < sequence )
+            {
+                head++;
+            }
+        }
+
+        double peek()
+        {
+            return tail > head ? values[head] : Double.NaN;
+        }
+
+        void clear()
+        {
+            head = 0;
+            tail = 0;
+        }
+    }
+
+    /**
+     * The data, null for a snapshot
+     */
+    private final SeriesData data;
+
+    private final boolean removable;
+
+    private boolean valid;
+
+    /**
+     * Number of datapoints at the end of the data that are not taken into account but combined on each read
+     */
+    private int replaceable;
+
+    private int count;
+    private double sumY;
+
+    /* used when the datapoints are only appended */
+    private double minX = Double.NaN;
+    private double maxX = Double.NaN;
+    private double minY = Double.NaN;
+    private double maxY = Double.NaN;
+
+    /* used when the first datapoints can be removed */
+    private MonotonicDeque minXDeque;
+    private MonotonicDeque maxXDeque;
+    private MonotonicDeque minYDeque;
+    private MonotonicDeque maxYDeque;
+
+    /**
+     * Sequence number of the first datapoint of the data. The sequence number of a datapoint is the number of
+     * datapoints appended before it.
+     */
+    private double firstSequence;
+
+    /**
+     * Sequence number of the first datapoint not taken into account yet
+     */
+    private double nextSequence;
+
+    /**
+     * Creates the statistics of the given data.
+     *
+     * @param data the data
+     * @param removable true if the first datapoints can be removed with {@link #removeFirst(int)}
+     */
+    SeriesStatistics( SeriesData data, boolean removable )
+    {
+        this.data = data;
+        this.removable = removable;
+        if ( removable )
+        {
+            minXDeque = new MonotonicDeque( true );
+            maxXDeque = new MonotonicDeque( false );
+            minYDeque = new MonotonicDeque( true );
+            maxYDeque = new MonotonicDeque( false );
+        }
+    }
+
+    private SeriesStatistics()
+    {
+        this( null, false );
+        valid = true;
+    }
+
+    /**
+     * @return the number of datapoints
+     */
+    public int getCount()
+    {
+        update();
+        return count + replaceableLength();
+    }
+
+    /**
+     * @return the minimum x value, NaN if there is no datapoint
+     */
+    public double getMinX()
+    {
+        update();
+        return withReplaceable( removable ? minXDeque.peek() : minX, true, true );
+    }
+
+    /**
+     * @return the maximum x value, NaN if there is no datapoint
+     */
+    public double getMaxX()
+    {
+        update();
+        return withReplaceable( removable ? maxXDeque.peek() : maxX, true, false );
+    }
+
+    /**
+     * @return the minimum y value, NaN if there is no datapoint
+     */
+    public double getMinY()
+    {
+        update();
+        return withReplaceable( removable ? minYDeque.peek() : minY, false, true );
+    }
+
+    /**
+     * @return the maximum y value, NaN if there is no datapoint
+     */
+    public double getMaxY()
+    {
+        update();
+        return withReplaceable( removable ? maxYDeque.peek() : maxY, false, false );
+    }
+
+    /**
+     * @return the sum of the y values
+     */
+    public double getSumY()
+    {
+        update();
+        return sumY + replaceableSumY();
+    }
+
+    /**
+     * @return the mean of the y values, NaN if there is no datapoint
+     */
+    public double getMeanY()
+    {
+        int total = getCount();
+        return total == 0 ? Double.NaN : getSumY() / total;
+    }
+
+    /**
+     * Merges the given statistics with these ones.
+     *
+     * @param other the statistics to merge
+     * @return a snapshot of the statistics covering the datapoints of both
+     */
+    public SeriesStatistics merge( SeriesStatistics other )
+    {
+        SeriesStatistics result = new SeriesStatistics();
+        result.count = getCount() + other.getCount();
+        result.sumY = getSumY() + other.getSumY();
+        result.minX = min( getMinX(), other.getMinX() );
+        result.maxX = max( getMaxX(), other.getMaxX() );
+        result.minY = min( getMinY(), other.getMinY() );
+        result.maxY = max( getMaxY(), other.getMaxY() );
+        return result;
+    }
+
+    /**
+     * Takes into account the datapoints appended since the last call.
+     */
+    private void update()
+    {
+        if ( null == data )
+        {
+            return;
+        }
+        if ( !valid )
+        {
+            clear();
+            valid = true;
+        }
+        int length = data.length() - replaceable;
+        for ( int i = (int) ( nextSequence - firstSequence ); i < length; i++ )
+        {
+            add( data.getX( i ), data.getY( i ) );
+        }
+    }
+
+    /**
+     * @return the number of replaceable datapoints at the end of the data
+     */
+    private int replaceableLength()
+    {
+        if ( null == data )
+        {
+            return 0;
+        }
+        return Math.max( 0, data.length() - (int) ( nextSequence - firstSequence ) );
+    }
+
+    /**
+     * @return the given minimum (or maximum) combined with the x (or y) values of the replaceable datapoints
+     */
+    private double withReplaceable( double value, boolean x, boolean minimum )
+    {
+        if ( null == data )
+        {
+            return value;
+        }
+        for ( int i = (int) ( nextSequence - firstSequence ); i < data.length(); i++ )
+        {
+            double v = x ? data.getX( i ) : data.getY( i );
+            value = minimum ? min( value, v ) : max( value, v );
+        }
+        return value;
+    }
+
+    /**
+     * @return the sum of the y values of the replaceable datapoints
+     */
+    private double replaceableSumY()
+    {
+        double sum = 0;
+        if ( null == data )
+        {
+            return sum;
+        }
+        for ( int i = (int) ( nextSequence - firstSequence ); i < data.length(); i++ )
+        {
+            double y = data.getY( i );
+            if ( !Double.isNaN( y ) )
+            {
+                sum += y;
+            }
+        }
+        return sum;
+    }
+
+    private void add( double x, double y )
+    {
+        count++;
+        if ( !Double.isNaN( y ) )
+        {
+            sumY += y;
+        }
+        if ( removable )
+        {
+            double sequence = nextSequence;
+            if ( !Double.isNaN( x ) )
+            {
+                minXDeque.push( x, sequence );
+                maxXDeque.push( x, sequence );
+            }
+            if ( !Double.isNaN( y ) )
+            {
+                minYDeque.push( y, sequence );
+                maxYDeque.push( y, sequence );
+            }
+        }
+        else
+        {
+            minX = min( minX, x );
+            maxX = max( maxX, x );
+            minY = min( minY, y );
+            maxY = max( maxY, y );
+        }
+        nextSequence++;
+    }
+
+    /**
+     * Takes out the first datapoints of the data. Must be called before they are removed from the data.
+     *
+     * @param removed number of datapoints removed from the beginning of the data
+     */
+    void removeFirst( int removed )
+    {
+        assert removable : "the statistics do not support the removal of datapoints";
+        if ( !valid || removed <= 0 )
+        {
+            return;
+        }
+        removed = Math.min( removed, data.length() );
+
+        // only the datapoints already taken into account have to be taken out
+        int counted = (int) Math.min( removed, nextSequence - firstSequence );
+        for ( int i = 0; i < counted; i++ )
+        {
+            double y = data.getY( i );
+            if ( !Double.isNaN( y ) )
+            {
+                sumY -= y;
+            }
+        }
+        count -= counted;
+        firstSequence += removed;
+        nextSequence = Math.max( nextSequence, firstSequence );
+        minXDeque.removeBefore( firstSequence );
+        maxXDeque.removeBefore( firstSequence );
+        minYDeque.removeBefore( firstSequence );
+        maxYDeque.removeBefore( firstSequence );
+        if ( count == 0 )
+        {
+            // avoids the accumulation of rounding errors
+            sumY = 0;
+        }
+    }
+
+    /**
+     * Declares the given number of datapoints at the end of the data replaceable: they can be removed and replaced
+     * by other datapoints without invalidating the statistics.
+     *
+     * @param replaceable number of replaceable datapoints at the end of the data
+     */
+    void setReplaceable( int replaceable )
+    {
+        this.replaceable = replaceable;
+    }
+
+    /**
+     * Marks the statistics as invalid after a modification of the data that is neither an append nor a removal of
+     * the first datapoints. They are computed again the next time they are read.
+     */
+    void invalidate()
+    {
+        valid = false;
+    }
+
+    private void clear()
+    {
+        count = 0;
+        sumY = 0;
+        minX = maxX = minY = maxY = Double.NaN;
+        firstSequence = 0;
+        nextSequence = 0;
+        if ( removable )
+        {
+            minXDeque.clear();
+            maxXDeque.clear();
+            minYDeque.clear();
+            maxYDeque.clear();
+        }
+    }
+
+    private static double min( double current, double value )
+    {
+        return Double.isNaN( current ) || value < current ? value : current;
+    }
+
+    private static double max( double current, double value )
+    {
+        return Double.isNaN( current ) || value > current ? value : current;
+    }
+}
@@ -27,6 +27,7 @@ package com.googlecode.gflot.client;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.core.client.JsArray;
 import com.google.gwt.dom.client.Element;
 import com.google.gwt.event.shared.HandlerRegistration;
@@ -79,6 +80,19 @@ public class SimplePlot
 
     private final List<Command> onLoadOperations;
 
+    private boolean incrementalRedraw;
+
+    private boolean optionsChanged;
+
+    private boolean pixelAggregation;
+
+    private ValueTracker valueTracker;
+
+    /**
+     * The listeners added to the plot, bound to each flot plot created
+     */
+    private final List<Binding> bindings = new ArrayList<Binding>();
+
     public SimplePlot()
     {
         this( new PlotModel() );
@@ -109,6 +123,66 @@ public class SimplePlot
         this.options = options;
     }
 
+    /**
+     * A listener bound to the element of the plot. It is bound when a flot plot is created and unbound when the flot
+     * plot is released, so the handlers always refer to the current flot plot and nothing stays bound to the element
+     * once the widget is detached.
+     */
+    private abstract class Binding
+        implements HandlerRegistration
+    {
+        private final String eventType;
+
+        private final Object listener;
+
+        /**
+         * The jQuery handler, null when unbound
+         */
+        private JavaScriptObject handler;
+
+        Binding( String eventType, Object listener )
+        {
+            this.eventType = eventType;
+            this.listener = listener;
+        }
+
+        /**
+         * Binds the listener to the current flot plot.
+         *
+         * @return the jQuery handler
+         */
+        abstract JavaScriptObject bind();
+
+        void bindIfNeeded()
+        {
+            if ( null == handler )
+            {
+                handler = bind();
+            }
+        }
+
+        void unbind()
+        {
+            if ( null != handler )
+            {
+                Plot.removePlotListener( getElement(), eventType, handler );
+                handler = null;
+            }
+            if ( listener instanceof EventDelivery.Gate )
+            {
+                // the coalesced event is not delivered once unbound
+                ( (EventDelivery.Gate) listener ).drop();
+            }
+        }
+
+        @Override
+        public void removeHandler()
+        {
+            unbind();
+            bindings.remove( this );
+        }
+    }
+
     @Override
     public int getWidth()
     {
@@ -160,63 +234,48 @@ public class SimplePlot
     }
 
     @Override
-    public void addSelectedListener( final PlotSelectedListener listener )
+    public HandlerRegistration addSelectedListener( final PlotSelectedListener listener )
     {
-        if ( loaded )
+        return addBinding( new Binding( "plotselected", listener )
         {
-            plot.addPlotSelectedListener( getElement(), listener );
-        }
-        else
-        {
-            onLoadOperations.add( new Command()
+            @Override
+            JavaScriptObject bind()
             {
-                @Override
-                public void execute()
-                {
-                    plot.addPlotSelectedListener( getElement(), listener );
-                }
-            } );
-        }
+                return plot.addPlotSelectedListener( getElement(), listener );
+            }
+        } );
     }
 
     @Override
-    public void addSelectingListener( final PlotSelectingListener listener )
+    public HandlerRegistration addSelectingListener( final PlotSelectingListener listener )
     {
-        if ( loaded )
-        {
-            plot.addPlotSelectingListener( getElement(), listener );
-        }
-        else
+        return addBinding( new Binding( "plotselecting", listener )
         {
-            onLoadOperations.add( new Command()
+            @Override
+            JavaScriptObject bind()
             {
-                @Override
-                public void execute()
-                {
-                    plot.addPlotSelectingListener( getElement(), listener );
-                }
-            } );
-        }
+                return plot.addPlotSelectingListener( getElement(), listener );
+            }
+        } );
     }
 
     @Override
-    public void addUnselectedListener( final PlotUnselectedListener listener )
+    public HandlerRegistration addSelectingListener( PlotSelectingListener listener, EventDelivery delivery )
     {
-        if ( loaded )
-        {
-            plot.addPlotUnselectedListener( getElement(), listener );
-        }
-        else
+        return addSelectingListener( delivery.wrapSelecting( listener ) );
+    }
+
+    @Override
+    public HandlerRegistration addUnselectedListener( final PlotUnselectedListener listener )
+    {
+        return addBinding( new Binding( "plotunselected", listener )
         {
-            onLoadOperations.add( new Command()
+            @Override
+            JavaScriptObject bind()
             {
-                @Override
-                public void execute()
-                {
-                    plot.addPlotUnselectedListener( getElement(), listener );
-                }
-            } );
-        }
+                return plot.addPlotUnselectedListener( getElement(), listener );
+            }
+        } );
     }
 
     @Override
@@ -269,45 +328,36 @@ public class SimplePlot
     }
 
     @Override
-    public void addHoverListener( final PlotHoverListener listener, final boolean onlyOnDatapoint )
+    public HandlerRegistration addHoverListener( final PlotHoverListener listener, final boolean onlyOnDatapoint )
     {
-        if ( loaded )
-        {
-            plot.addPlotHoverListener( getElement(), listener, onlyOnDatapoint );
-        }
-        else
+        return addBinding( new Binding( "plothover", listener )
         {
-            onLoadOperations.add( new Command()
+            @Override
+            JavaScriptObject bind()
             {
-                @Override
-                public void execute()
-                {
-                    plot.addPlotHoverListener( getElement(), listener, onlyOnDatapoint );
-                }
-            } );
-        }
+                return plot.addPlotHoverListener( getElement(), listener, onlyOnDatapoint );
+            }
+        } );
+    }
 
+    @Override
+    public HandlerRegistration addHoverListener( PlotHoverListener listener, boolean onlyOnDatapoint,
+                                                 EventDelivery delivery )
+    {
+        return addHoverListener( delivery.wrapHover( listener ), onlyOnDatapoint );
     }
 
     @Override
-    public void addClickListener( final PlotClickListener listener, final boolean onlyOnDatapoint )
+    public HandlerRegistration addClickListener( final PlotClickListener listener, final boolean onlyOnDatapoint )
     {
-        if ( loaded )
+        return addBinding( new Binding( "plotclick", listener )
         {
-            plot.addPlotClickListener( getElement(), listener, onlyOnDatapoint );
-        }
-        else
-        {
-            onLoadOperations.add( new Command()
+            @Override
+            JavaScriptObject bind()
             {
-                @Override
-                public void execute()
-                {
-                    plot.addPlotClickListener( getElement(), listener, onlyOnDatapoint );
-                }
-            } );
-        }
-
+                return plot.addPlotClickListener( getElement(), listener, onlyOnDatapoint );
+            }
+        } );
     }
 
     @Override
@@ -316,11 +366,33 @@ public class SimplePlot
         return model;
     }
 
+    /**
+     * Marks the plot dirty. It is redrawn once at the next animation frame by the {@link RedrawScheduler}, however
+     * many times this method is called in between. If the plot is outside the viewport or hidden, it is redrawn when
+     * it becomes visible again.
+     */
     @Override
     public void redraw()
     {
+        RedrawScheduler.get().schedule( this );
+    }
+
+    /**
+     * Redraws the plot immediately and cancels the pending redraw, if any. If the incremental redraw is enabled (see
+     * {@link #setIncrementalRedraw(boolean)}), the current plot is reused unless the options have been changed with
+     * {@link #setOptions(PlotOptions)}. Otherwise, the plot is created again.
+     */
+    @Override
+    public void redrawNow()
+    {
+        RedrawScheduler.get().cancel( this );
         if ( loaded )
         {
+            if ( incrementalRedraw && !optionsChanged && !loadDataImages && isAttached() )
+            {
+                refresh();
+                return;
+            }
             loaded = false;
             if ( isAttached() )
             {
@@ -329,6 +401,51 @@ public class SimplePlot
         }
     }
 
+    /**
+     * @return true if {@link #redraw()} reuses the current plot
+     */
+    public boolean isIncrementalRedraw()
+    {
+        return incrementalRedraw;
+    }
+
+    /**
+     * Enables the incremental redraw. When enabled, {@link #redraw()} gives the new data to the current plot, computes
+     * the axes again and draws it instead of creating a new plot. The canvases, the options processing and the zoom
+     * and pan state are kept.
+     * <p>
+     * The options are read only when the plot is created, so the options modified after must be given back with
+     * {@link #setOptions(PlotOptions)} for the next redraw to create a new plot.
+     * </p>
+     *
+     * @param incrementalRedraw true to reuse the plot on redraw
+     */
+    public void setIncrementalRedraw( boolean incrementalRedraw )
+    {
+        this.incrementalRedraw = incrementalRedraw;
+    }
+
+    /**
+     * Sets the options of the plot. The next {@link #redraw()} creates a new plot with them.
+     *
+     * @param options the new options
+     */
+    public void setOptions( PlotOptions options )
+    {
+        this.options = options;
+        this.optionsChanged = true;
+    }
+
+    /**
+     * Gives the data of the model to the current plot and draws it.
+     */
+    private void refresh()
+    {
+        plot.setData( model.getSeries() );
+        plot.setupGrid();
+        plot.draw();
+    }
+
     public int getOffsetLeft()
     {
         return plot.getPlotOffsetLeft();
@@ -372,42 +489,81 @@ public class SimplePlot
         this.loadDataImages = loadDataImages;
     }
 
-    public void addPanListener( final PlotPanListener listener )
+    /**
+     * @return true if the series are aggregated per pixel column before being drawn
+     */
+    public boolean isPixelAggregation()
     {
-        if ( loaded )
-        {
-            plot.addPlotPanListener( getElement(), listener );
-        }
-        else
+        return pixelAggregation;
+    }
+
+    /**
+     * Enables the aggregation of the series per pixel column. Only the first, last, minimum and maximum datapoints of
+     * each pixel column of the visible x range are drawn (see {@link M4Aggregation}), so the cost of a draw depends on
+     * the width of the plot and not on the number of datapoints. The aggregation is computed by flot hooks at each draw,
+     * once the range of the axes is known, so a redraw, a zoom or a pan draws the plot only once.
+     * <p>
+     * The x values of the data must be sorted in ascending order. The datapoints given to the listeners are the
+     * original ones. The series on an x axis with a transform, a logarithmic axis for example, are not aggregated and
+     * are drawn with all their datapoints.
+     * </p>
+     *
+     * @param pixelAggregation true to enable the aggregation
+     */
+    public void setPixelAggregation( boolean pixelAggregation )
+    {
+        this.pixelAggregation = pixelAggregation;
+        // the hooks are given to flot when the plot is created
+        this.optionsChanged = true;
+        redraw();
+    }
+
+    public HandlerRegistration addPanListener( final PlotPanListener listener )
+    {
+        return addBinding( new Binding( "plotpan", listener )
         {
-            onLoadOperations.add( new Command()
+            @Override
+            JavaScriptObject bind()
             {
-                @Override
-                public void execute()
-                {
-                    plot.addPlotPanListener( getElement(), listener );
-                }
-            } );
-        }
+                return plot.addPlotPanListener( getElement(), listener );
+            }
+        } );
     }
 
-    public void addZoomListener( final PlotZoomListener listener )
+    /**
+     * Add a pan listener to the plot, the events being delivered as defined by the delivery
+     *
+     * @param listener listener to add to the plot
+     * @param delivery how the events are delivered, {@link EventDelivery#perFrame()} for example
+     * @return the registration removing the listener
+     */
+    public HandlerRegistration addPanListener( PlotPanListener listener, EventDelivery delivery )
     {
-        if ( loaded )
-        {
-            plot.addPlotZoomListener( getElement(), listener );
-        }
-        else
+        return addPanListener( delivery.wrapPan( listener ) );
+    }
+
+    public HandlerRegistration addZoomListener( final PlotZoomListener listener )
+    {
+        return addBinding( new Binding( "plotzoom", listener )
         {
-            onLoadOperations.add( new Command()
+            @Override
+            JavaScriptObject bind()
             {
-                @Override
-                public void execute()
-                {
-                    plot.addPlotZoomListener( getElement(), listener );
-                }
-            } );
-        }
+                return plot.addPlotZoomListener( getElement(), listener );
+            }
+        } );
+    }
+
+    /**
+     * Add a zoom listener to the plot, the events being delivered as defined by the delivery
+     *
+     * @param listener listener to add to the plot
+     * @param delivery how the events are delivered, {@link EventDelivery#perFrame()} for example
+     * @return the registration removing the listener
+     */
+    public HandlerRegistration addZoomListener( PlotZoomListener listener, EventDelivery delivery )
+    {
+        return addZoomListener( delivery.wrapZoom( listener ) );
     }
 
     public void zoom()
@@ -468,13 +624,21 @@ public class SimplePlot
                         @Override
                         public void onImagesLoaded( JsArray<Series> data, PlotOptions options )
                         {
+                            releasePlot();
                             plot = Plot.create( getElement(), data, options );
                             onPlotCreated();
                         }
                     } );
                 }
+                else if ( pixelAggregation )
+                {
+                    releasePlot();
+                    plot = Plot.create( getElement(), model.getSeries(), withPixelAggregation( options ) );
+                    onPlotCreated();
+                }
                 else
                 {
+                    releasePlot();
                     plot = Plot.create( getElement(), model.getSeries(), options );
                     onPlotCreated();
                 }
@@ -488,12 +652,58 @@ public class SimplePlot
         } );
     }
 
+    @Override
+    protected void onUnload()
+    {
+        super.onUnload();
+        // a detached plot must not be kept by the scheduler. The plot is created again when the widget is attached
+        // again.
+        RedrawScheduler.get().cancel( this );
+        releasePlot();
+        loaded = false;
+    }
+
+    /**
+     * Releases the current flot plot, if any, and unbinds the listeners from it. The next plot created in the element
+     * reuses its canvases and text layer and the listeners are bound to it.
+     */
+    void releasePlot()
+    {
+        for ( Binding binding : bindings )
+        {
+            binding.unbind();
+        }
+        if ( null != plot )
+        {
+            plot.release();
+        }
+    }
+
+    /**
+     * Adds the binding and binds it if the plot is loaded. Otherwise, it is bound once the plot is created.
+     */
+    private HandlerRegistration addBinding( Binding binding )
+    {
+        bindings.add( binding );
+        if ( loaded )
+        {
+            binding.bindIfNeeded();
+        }
+        return binding;
+    }
+
     private void onPlotCreated()
     {
         // Issue : 2
         assert plot != null : "A javascript error occurred while creating plot.";
 
         loaded = true;
+        optionsChanged = false;
+
+        for ( Binding binding : bindings )
+        {
+            binding.bindIfNeeded();
+        }
 
         for ( Command cmd : onLoadOperations )
         {
@@ -504,6 +714,46 @@ public class SimplePlot
         PlotLoadEvent.fire( this );
     }
 
+    /**
+     * @return a copy of the options adding the flot hooks that aggregate the datapoints of the series before they are
+     * drawn and restore them once the plot is drawn
+     */
+    private static native PlotOptions withPixelAggregation( PlotOptions options )
+    /*-{
+        var result = $wnd.jQuery.extend({}, options);
+        var hooks = $wnd.jQuery.extend({}, result.hooks);
+        hooks.drawBackground = (hooks.drawBackground || []).concat([function (plot, ctx) {
+            var series = plot.getData();
+            for (var i = 0; i < series.length; ++i) {
+                var s = series[i];
+                if (s.xaxis.options.transform) {
+                    // the columns are computed on a linear scale, the series is drawn with all its datapoints
+                    continue;
+                }
+                var points = s.datapoints.points;
+                var min = s.xaxis.min == null ? NaN : s.xaxis.min;
+                var max = s.xaxis.max == null ? NaN : s.xaxis.max;
+                var aggregated = @com.googlecode.gflot.client.M4Aggregation::aggregatePoints(Lcom/google/gwt/core/client/JsArrayNumber;IDDI)(points, s.datapoints.pointsize, min, max, plot.width());
+                if (aggregated !== points) {
+                    s.gflotPoints = points;
+                    s.datapoints.points = aggregated;
+                }
+            }
+        }]);
+        hooks.draw = (hooks.draw || []).concat([function (plot, ctx) {
+            // the listeners and the next draws see all the datapoints
+            var series = plot.getData();
+            for (var i = 0; i < series.length; ++i) {
+                if (series[i].gflotPoints) {
+                    series[i].datapoints.points = series[i].gflotPoints;
+                    delete series[i].gflotPoints;
+                }
+            }
+        }]);
+        result.hooks = hooks;
+        return result;
+    }-*/;
+
     public boolean isExportAsImageEnabled()
     {
         return FlotJavaScriptLoader.get().getCanvas2ImageLoader().isPluginEnabled();
@@ -566,6 +816,18 @@ public class SimplePlot
         return plot.getAxes();
     }
 
+    /**
+     * @return the tracker of the values of the visible series at the x position of the mouse, created on the first call
+     */
+    public ValueTracker getValueTracker()
+    {
+        if ( null == valueTracker )
+        {
+            valueTracker = new ValueTracker( this );
+        }
+        return valueTracker;
+    }
+
     /**
      * Set the position of the crosshair. Note that this is cleared if the user moves the mouse.
      *
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.gflot.client;
+
+/**
+ * Value of a series at the x position tracked by a {@link ValueTracker}.
+ */
+public class TrackedValue
+{
+
+    private final SeriesHandler handler;
+
+    private final int seriesIndex;
+
+    private final int dataIndex;
+
+    private final double x;
+
+    private final double y;
+
+    TrackedValue( SeriesHandler handler, int seriesIndex, int dataIndex, double x, double y )
+    {
+        this.handler = handler;
+        this.seriesIndex = seriesIndex;
+        this.dataIndex = dataIndex;
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * @return the handler of the series
+     */
+    public SeriesHandler getHandler()
+    {
+        return handler;
+    }
+
+    /**
+     * @return the series
+     */
+    public Series getSeries()
+    {
+        return handler.getSeries();
+    }
+
+    /**
+     * @return the index of the series in the model
+     */
+    public int getSeriesIndex()
+    {
+        return seriesIndex;
+    }
+
+    /**
+     * @return the index of the datapoint whose x value is the closest to the tracked position
+     */
+    public int getDataIndex()
+    {
+        return dataIndex;
+    }
+
+    /**
+     * @return the x value: the tracked position when the value is interpolated, the x value of the nearest datapoint
+     * otherwise
+     */
+    public double getX()
+    {
+        return x;
+    }
+
+    /**
+     * @return the y value, interpolated or of the nearest datapoint
+     */
+    public double getY()
+    {
+        return y;
+    }
+}
@@ -0,0 +1,398 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.gflot.client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.EventTarget;
+import com.google.gwt.event.dom.client.MouseMoveEvent;
+import com.google.gwt.event.dom.client.MouseMoveHandler;
+import com.google.gwt.event.dom.client.MouseOutEvent;
+import com.google.gwt.event.dom.client.MouseOutHandler;
+import com.google.gwt.user.client.Command;
+import com.googlecode.gflot.client.event.PlotPosition;
+import com.googlecode.gflot.client.jsni.Plot;
+import com.googlecode.gflot.client.util.Algorithm;
+
+/**
+ * Tracks the values of the visible series at the x position of the mouse. Obtained with
+ * {@link SimplePlot#getValueTracker()}.
+ * <p>
+ * The mouse moves only record the position. The values are computed once per animation frame with a binary search in
+ * the data of each series, so the x values must be sorted in ascending order. They are given to the {@link View}, a
+ * tooltip for example, and the crosshair can be locked on them. The tracker does not need the grid to be hoverable.
+ * </p>
+ */
+public class ValueTracker
+{
+
+    public enum Mode
+    {
+        /**
+         * The y value is interpolated between the datapoints around the tracked x value
+         */
+        INTERPOLATE,
+
+        /**
+         * The values are the ones of the datapoint whose x value is the closest to the tracked x value
+         */
+        NEAREST
+    }
+
+    /**
+     * View displaying the tracked values
+     */
+    public interface View
+    {
+        /**
+         * Shows the values tracked at the given position.
+         *
+         * @param position the position of the mouse
+         * @param values the value of each visible series, in the order of the model
+         */
+        void show( PlotPosition position, List<TrackedValue> values );
+
+        /**
+         * Hides the values, the mouse has left the plotting area.
+         */
+        void hide();
+    }
+
+    private final SimplePlot plot;
+
+    private final Command updateCommand = new Command()
+    {
+        @Override
+        public void execute()
+        {
+            frameRequested = false;
+            update();
+        }
+    };
+
+    private Mode mode = Mode.INTERPOLATE;
+
+    private View view;
+
+    private boolean crosshair;
+
+    private boolean enabled = true;
+
+    /* the last position of the mouse, relative to the element of the plot */
+    private int mouseX;
+    private int mouseY;
+    private boolean mouseOver;
+
+    private boolean frameRequested;
+
+    private boolean showing;
+
+    private List<TrackedValue> values = Collections.emptyList();
+
+    ValueTracker( final SimplePlot plot )
+    {
+        this.plot = plot;
+        plot.addDomHandler( new MouseMoveHandler()
+        {
+            @Override
+            public void onMouseMove( MouseMoveEvent event )
+            {
+                mouseX = event.getRelativeX( plot.getElement() );
+                mouseY = event.getRelativeY( plot.getElement() );
+                mouseOver = true;
+                requestFrame();
+            }
+        }, MouseMoveEvent.getType() );
+        plot.addDomHandler( new MouseOutHandler()
+        {
+            @Override
+            public void onMouseOut( MouseOutEvent event )
+            {
+                // moving between the canvases and the labels of the plot is not leaving it
+                EventTarget related = event.getNativeEvent().getRelatedEventTarget();
+                if ( null != related && Element.is( related )
+                    && plot.getElement().isOrHasChild( Element.as( related ) ) )
+                {
+                    return;
+                }
+                mouseOver = false;
+                requestFrame();
+            }
+        }, MouseOutEvent.getType() );
+    }
+
+    /**
+     * @return the way the values are computed
+     */
+    public Mode getMode()
+    {
+        return mode;
+    }
+
+    /**
+     * Sets the way the values are computed. {@link Mode#INTERPOLATE} by default.
+     *
+     * @param mode the mode
+     */
+    public void setMode( Mode mode )
+    {
+        assert null != mode : "mode can't be null";
+        this.mode = mode;
+    }
+
+    /**
+     * @return the view displaying the values, null if none
+     */
+    public View getView()
+    {
+        return view;
+    }
+
+    /**
+     * Sets the view displaying the values.
+     *
+     * @param view the view, null to remove the current one
+     */
+    public void setView( View view )
+    {
+        if ( null != this.view && showing )
+        {
+            this.view.hide();
+        }
+        this.view = view;
+    }
+
+    /**
+     * @return true if the crosshair is locked on the tracked values
+     */
+    public boolean isCrosshair()
+    {
+        return crosshair;
+    }
+
+    /**
+     * Locks the crosshair on the tracked x value: the mouse position when the values are interpolated, the x value of
+     * the nearest datapoint otherwise. The crosshair plugin must be enabled in the options.
+     *
+     * @param crosshair true to lock the crosshair on the tracked values
+     */
+    public void setCrosshair( boolean crosshair )
+    {
+        if ( this.crosshair && !crosshair && showing && plot.isPlotLoaded() )
+        {
+            plot.unlockCrosshair();
+        }
+        this.crosshair = crosshair;
+    }
+
+    /**
+     * @return true if the mouse is tracked
+     */
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Enables the tracking of the mouse. Enabled by default.
+     *
+     * @param enabled true to track the mouse
+     */
+    public void setEnabled( boolean enabled )
+    {
+        if ( !enabled )
+        {
+            hide();
+        }
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return the values tracked at the last position of the mouse, empty if the mouse is not over the plotting area
+     */
+    public List<TrackedValue> getValues()
+    {
+        return Collections.unmodifiableList( values );
+    }
+
+    /**
+     * Computes the values of the visible series at the given x value.
+     *
+     * @param x the x value
+     * @return the value of each visible series with data
+     */
+    public List<TrackedValue> track( double x )
+    {
+        List<TrackedValue> result = new ArrayList<TrackedValue>();
+        List<? extends SeriesHandler> handlers = plot.getModel().getHandlers();
+        for ( int i = 0; i < handlers.size(); i++ )
+        {
+            TrackedValue value = computeValue( handlers.get( i ), i, x );
+            if ( null != value )
+            {
+                result.add( value );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the values of the visible series at the given position, using the x axis of each series.
+     */
+    private List<TrackedValue> track( PlotPosition position )
+    {
+        List<TrackedValue> result = new ArrayList<TrackedValue>();
+        List<? extends SeriesHandler> handlers = plot.getModel().getHandlers();
+        for ( int i = 0; i < handlers.size(); i++ )
+        {
+            SeriesHandler handler = handlers.get( i );
+            Double x = position.getX( handler.getSeries().getXAxis() );
+            TrackedValue value = null == x ? null : computeValue( handler, i, x );
+            if ( null != value )
+            {
+                result.add( value );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the value of the series at the given x value, null if the series is hidden or has no data
+     */
+    private TrackedValue computeValue( SeriesHandler handler, int seriesIndex, double x )
+    {
+        // the data given to flot: a hidden series is given an empty data instead of the data of the handler
+        SeriesData data = handler.getSeries().getData();
+        if ( null == data || data.isEmpty() )
+        {
+            return null;
+        }
+
+        int nearest = Algorithm.xNearest( data, x );
+        if ( mode == Mode.NEAREST )
+        {
+            return new TrackedValue( handler, seriesIndex, nearest, data.getX( nearest ), data.getY( nearest ) );
+        }
+
+        int upper = Algorithm.xLowerBound( data, x );
+        double y;
+        if ( upper == 0 || upper == data.length() || data.getX( upper ) == x )
+        {
+            // outside the data or on a datapoint
+            y = data.getY( nearest );
+        }
+        else
+        {
+            double x1 = data.getX( upper - 1 );
+            double y1 = data.getY( upper - 1 );
+            y = y1 + ( data.getY( upper ) - y1 ) * ( x - x1 ) / ( data.getX( upper ) - x1 );
+        }
+        return new TrackedValue( handler, seriesIndex, nearest, x, y );
+    }
+
+    private void requestFrame()
+    {
+        if ( enabled && !frameRequested )
+        {
+            frameRequested = true;
+            RedrawScheduler.requestAnimationFrame( updateCommand );
+        }
+    }
+
+    /**
+     * Computes the values at the last position of the mouse and shows them.
+     */
+    private void update()
+    {
+        if ( !enabled )
+        {
+            return;
+        }
+        if ( !mouseOver || !plot.isPlotLoaded() )
+        {
+            hide();
+            return;
+        }
+
+        Plot flot = plot.getPlot();
+        double left = mouseX - flot.getPlotOffsetLeft();
+        double top = mouseY - flot.getPlotOffsetTop();
+        if ( left < 0 || top < 0 || left > flot.width() || top > flot.height() )
+        {
+            hide();
+            return;
+        }
+
+        PlotPosition position = flot.c2p( left, top );
+        values = track( position );
+        showing = true;
+
+        if ( crosshair )
+        {
+            double x = position.getX();
+            if ( mode == Mode.NEAREST )
+            {
+                // the crosshair goes to the closest of the nearest datapoints
+                double distance = Double.POSITIVE_INFINITY;
+                for ( TrackedValue value : values )
+                {
+                    if ( Math.abs( value.getX() - position.getX() ) < distance )
+                    {
+                        distance = Math.abs( value.getX() - position.getX() );
+                        x = value.getX();
+                    }
+                }
+            }
+            flot.lockCrosshair( PlotPosition.of( x, position.getY() ) );
+        }
+
+        if ( null != view )
+        {
+            view.show( position, getValues() );
+        }
+    }
+
+    private void hide()
+    {
+        if ( !showing )
+        {
+            return;
+        }
+        showing = false;
+        values = Collections.emptyList();
+        if ( crosshair && plot.isPlotLoaded() )
+        {
+            plot.unlockCrosshair();
+            plot.clearCrosshair();
+        }
+        if ( null != view )
+        {
+            view.hide();
+        }
+    }
+}
@@ -100,37 +100,43 @@ public class Plot
         this.triggerRedrawOverlay();
     }-*/;
 
-    public final native void addPlotSelectedListener( Element container, PlotSelectedListener listener )
-    /*-{
-        $wnd
-            .jQuery("#" + container.id)
-            .bind(
-            "plotselected",
-            function (event, area) {
-                listener.@com.googlecode.gflot.client.event.PlotSelectedListener::onPlotSelected(Lcom/googlecode/gflot/client/PlotSelectionArea;)(area);
-            });
+    public final native JavaScriptObject addPlotSelectedListener( Element container, PlotSelectedListener listener )
+    /*-{
+        var handler = function (event, area) {
+            listener.@com.googlecode.gflot.client.event.PlotSelectedListener::onPlotSelected(Lcom/googlecode/gflot/client/PlotSelectionArea;)(area);
+        };
+        $wnd.jQuery("#" + container.id).bind("plotselected", handler);
+        return handler;
     }-*/;
 
-    public final native void addPlotSelectingListener( Element container, PlotSelectingListener listener )
+    public final native JavaScriptObject addPlotSelectingListener( Element container, PlotSelectingListener listener )
     /*-{
-        $wnd
-            .jQuery("#" + container.id)
-            .bind(
-            "plotselecting",
-            function (event, area) {
-                listener.@com.googlecode.gflot.client.event.PlotSelectingListener::onPlotSelecting(Lcom/googlecode/gflot/client/PlotSelectionArea;)(area);
-            });
+        var handler = function (event, area) {
+            listener.@com.googlecode.gflot.client.event.PlotSelectingListener::onPlotSelecting(Lcom/googlecode/gflot/client/PlotSelectionArea;)(area);
+        };
+        $wnd.jQuery("#" + container.id).bind("plotselecting", handler);
+        return handler;
     }-*/;
 
-    public final native void addPlotUnselectedListener( Element container, PlotUnselectedListener listener )
+    public final native JavaScriptObject addPlotUnselectedListener( Element container, PlotUnselectedListener listener )
     /*-{
-        $wnd
-            .jQuery("#" + container.id)
-            .bind(
-            "plotunselected",
-            function (event) {
-                listener.@com.googlecode.gflot.client.event.PlotUnselectedListener::onPlotUnselected()();
-            });
+        var handler = function (event) {
+            listener.@com.googlecode.gflot.client.event.PlotUnselectedListener::onPlotUnselected()();
+        };
+        $wnd.jQuery("#" + container.id).bind("plotunselected", handler);
+        return handler;
+    }-*/;
+
+    /**
+     * Unbinds a listener bound by one of the add*Listener methods.
+     *
+     * @param container the element the listener is bound to
+     * @param eventType the type of the event, "plothover" for example
+     * @param handler the handler returned when the listener was added
+     */
+    public static native void removePlotListener( Element container, String eventType, JavaScriptObject handler )
+    /*-{
+        $wnd.jQuery("#" + container.id).unbind(eventType, handler);
     }-*/;
 
     public final native PlotSelectionArea getSelection()
@@ -148,34 +154,30 @@ public class Plot
         this.clearSelection(preventEvent);
     }-*/;
 
-    public final native void addPlotHoverListener( Element container, PlotHoverListener listener,
-                                                   boolean onlyOnDatapoint )
+    public final native JavaScriptObject addPlotHoverListener( Element container, PlotHoverListener listener,
+                                                               boolean onlyOnDatapoint )
     /*-{
         var plot = this;
-        $wnd
-            .jQuery("#" + container.id)
-            .bind(
-            "plothover",
-            function (event, pos, item) {
-                if (item != null || !onlyOnDatapoint) {
-                    listener.@com.googlecode.gflot.client.event.PlotHoverListener::onPlotHover(Lcom/googlecode/gflot/client/jsni/Plot;Lcom/googlecode/gflot/client/event/PlotPosition;Lcom/googlecode/gflot/client/event/PlotItem;)(plot, pos, item);
-                }
-            });
+        var handler = function (event, pos, item) {
+            if (item != null || !onlyOnDatapoint) {
+                listener.@com.googlecode.gflot.client.event.PlotHoverListener::onPlotHover(Lcom/googlecode/gflot/client/jsni/Plot;Lcom/googlecode/gflot/client/event/PlotPosition;Lcom/googlecode/gflot/client/event/PlotItem;)(plot, pos, item);
+            }
+        };
+        $wnd.jQuery("#" + container.id).bind("plothover", handler);
+        return handler;
     }-*/;
 
-    public final native void addPlotClickListener( Element container, PlotClickListener listener,
-                                                   boolean onlyOnDatapoint )
+    public final native JavaScriptObject addPlotClickListener( Element container, PlotClickListener listener,
+                                                               boolean onlyOnDatapoint )
     /*-{
         var plot = this;
-        $wnd
-            .jQuery("#" + container.id)
-            .bind(
-            "plotclick",
-            function (event, pos, item) {
-                if (item != null || !onlyOnDatapoint) {
-                    listener.@com.googlecode.gflot.client.event.PlotClickListener::onPlotClick(Lcom/googlecode/gflot/client/jsni/Plot;Lcom/googlecode/gflot/client/event/PlotPosition;Lcom/googlecode/gflot/client/event/PlotItem;)(plot, pos, item);
-                }
-            });
+        var handler = function (event, pos, item) {
+            if (item != null || !onlyOnDatapoint) {
+                listener.@com.googlecode.gflot.client.event.PlotClickListener::onPlotClick(Lcom/googlecode/gflot/client/jsni/Plot;Lcom/googlecode/gflot/client/event/PlotPosition;Lcom/googlecode/gflot/client/event/PlotItem;)(plot, pos, item);
+            }
+        };
+        $wnd.jQuery("#" + container.id).bind("plotclick", handler);
+        return handler;
     }-*/;
 
     public final native int getPlotOffsetLeft()
@@ -202,6 +204,18 @@ public class Plot
         return (offset === undefined) ? -1 : offset;
     }-*/;
 
+    /**
+     * Converts a position in pixels relative to the plotting area to the coordinates of the axes.
+     *
+     * @param left the horizontal position in pixels from the left of the plotting area
+     * @param top the vertical position in pixels from the top of the plotting area
+     * @return the position for each axis
+     */
+    public final native PlotPosition c2p( double left, double top )
+    /*-{
+        return this.c2p({ left: left, top: top });
+    }-*/;
+
     public final native JsArray<JsonObject> getData()
     /*-{
         return this.getData();
@@ -263,26 +277,22 @@ public class Plot
         return this.getAxes();
     }-*/;
 
-    public final native void addPlotPanListener( Element container, PlotPanListener listener )
+    public final native JavaScriptObject addPlotPanListener( Element container, PlotPanListener listener )
     /*-{
-        $wnd
-            .jQuery("#" + container.id)
-            .bind(
-            "plotpan",
-            function (event, plot) {
-                listener.@com.googlecode.gflot.client.event.PlotPanListener::onPlotPan(Lcom/googlecode/gflot/client/jsni/Plot;)(plot);
-            });
+        var handler = function (event, plot) {
+            listener.@com.googlecode.gflot.client.event.PlotPanListener::onPlotPan(Lcom/googlecode/gflot/client/jsni/Plot;)(plot);
+        };
+        $wnd.jQuery("#" + container.id).bind("plotpan", handler);
+        return handler;
     }-*/;
 
-    public final native void addPlotZoomListener( Element container, PlotZoomListener listener )
+    public final native JavaScriptObject addPlotZoomListener( Element container, PlotZoomListener listener )
     /*-{
-        $wnd
-            .jQuery("#" + container.id)
-            .bind(
-            "plotzoom",
-            function (event, plot) {
-                listener.@com.googlecode.gflot.client.event.PlotZoomListener::onPlotZoom(Lcom/googlecode/gflot/client/jsni/Plot;)(plot);
-            });
+        var handler = function (event, plot) {
+            listener.@com.googlecode.gflot.client.event.PlotZoomListener::onPlotZoom(Lcom/googlecode/gflot/client/jsni/Plot;)(plot);
+        };
+        $wnd.jQuery("#" + container.id).bind("plotzoom", handler);
+        return handler;
     }-*/;
 
     public final native void zoom( Zoom zoom )
@@ -408,6 +418,18 @@ public class Plot
         this.resize();
     }-*/;
 
+    /**
+     * Forces the grid drawn on a separate canvas (see
+     * {@link com.googlecode.gflot.client.options.GridOptions#setStaticLayer(boolean)}) to be drawn again on the next
+     * draw. Needed when the grid options or the result of a markings function change.
+     */
+    public final native void invalidateStaticLayer()
+    /*-{
+        if (this.invalidateStaticLayer) {
+            this.invalidateStaticLayer();
+        }
+    }-*/;
+
     /**
      * Cleans up any event handlers Flot has currently registered. This
      * is used internally.
@@ -417,6 +439,29 @@ public class Plot
         this.shutdown();
     }-*/;
 
+    /**
+     * Cleans up the event handlers of the plot and detaches it from its placeholder. The canvases and the text layer
+     * are left in the placeholder so the next plot created in it reuses them, without shutting down this plot again.
+     * Releasing a plot twice has no effect.
+     */
+    public final native void release()
+    /*-{
+        if (this.gflotReleased) {
+            return;
+        }
+        this.gflotReleased = true;
+        this.shutdown();
+        var placeholder = this.getPlaceholder();
+        if (placeholder.data("plot") === this) {
+            placeholder.removeData("plot");
+            // flot only clears the overlay when it shuts down the previous plot itself
+            var overlay = placeholder.children(".flot-overlay")[0];
+            if (overlay) {
+                overlay.getContext("2d").clearRect(0, 0, overlay.width, overlay.height);
+            }
+        }
+    }-*/;
+
     /**
      * Cleans up any event handlers Flot has currently registered. This
      * is used internally.
@@ -128,6 +128,7 @@ public abstract class CommonSeriesOptions<T extends CommonSeriesOptions<?>>
     private static final String STACK_KEY = "stack";
     private static final String THRESHOLD_KEY = "threshold";
     private static final String HIGHLIGHT_COLOR_KEY = "highlightColor";
+    private static final String LOD_KEY = "lod";
 
     protected CommonSeriesOptions()
     {
@@ -410,4 +411,34 @@ public abstract class CommonSeriesOptions<T extends CommonSeriesOptions<?>>
         clear( HIGHLIGHT_COLOR_KEY );
         return (T) this;
     }
+
+    /**
+     * Set the level of detail options, switching off the shadows, points and fills when the series is dense
+     *
+     * @return this instance of {@link CommonSeriesOptions}
+     */
+    public final T setLevelOfDetailOptions( LevelOfDetailOptions lod )
+    {
+        put( LOD_KEY, lod );
+        return (T) this;
+    }
+
+    /**
+     * @return the level of detail options
+     */
+    public final LevelOfDetailOptions getLevelOfDetailOptions()
+    {
+        return getJsObject( LOD_KEY );
+    }
+
+    /**
+     * Clear the level of detail options
+     *
+     * @return this instance of {@link CommonSeriesOptions}
+     */
+    public final T clearLevelOfDetailOptions()
+    {
+        clear( LOD_KEY );
+        return (T) this;
+    }
 }
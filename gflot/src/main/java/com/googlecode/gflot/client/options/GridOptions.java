@@ -61,6 +61,9 @@ public class GridOptions
 
     private static final String BACKGROUND_KEY = "background";
 
+    private static final String STATIC_LAYER_KEY = "staticLayer";
+    private static final String NEAREST_INDEX_KEY = "nearestIndex";
+
     /**
      * Creates a {@link GridOptions}
      */
@@ -622,4 +625,61 @@ public class GridOptions
         put( BACKGROUND_KEY, backgroundOptions );
         return this;
     }
+
+    /**
+     * Set if the background, markings, ticks and border of the grid are drawn once on a separate canvas under the
+     * series. The canvas is only drawn again when the size of the plot or the range or ticks of an axis change, so the
+     * plots with fixed axes and many markings only draw their series. Not used when the grid is drawn above the data.
+     */
+    public final GridOptions setStaticLayer( boolean staticLayer )
+    {
+        put( STATIC_LAYER_KEY, staticLayer );
+        return this;
+    }
+
+    /**
+     * @return true if the grid is drawn on a separate canvas
+     */
+    public final Boolean getStaticLayer()
+    {
+        return getBoolean( STATIC_LAYER_KEY );
+    }
+
+    /**
+     * Clear the static layer option
+     */
+    public final GridOptions clearStaticLayer()
+    {
+        clear( STATIC_LAYER_KEY );
+        return this;
+    }
+
+    /**
+     * Set if the datapoint under the mouse is found with an index on hover and click instead of walking all the
+     * datapoints. The series with ascending x values showing lines or bars are searched by binary search, the others
+     * with a grid. The index is built on the first search after the data changes and extended when datapoints have
+     * only been appended.
+     */
+    public final GridOptions setNearestIndex( boolean nearestIndex )
+    {
+        put( NEAREST_INDEX_KEY, nearestIndex );
+        return this;
+    }
+
+    /**
+     * @return true if the datapoint under the mouse is found with an index
+     */
+    public final Boolean getNearestIndex()
+    {
+        return getBoolean( NEAREST_INDEX_KEY );
+    }
+
+    /**
+     * Clear the nearest index option
+     */
+    public final GridOptions clearNearestIndex()
+    {
+        clear( NEAREST_INDEX_KEY );
+        return this;
+    }
 }
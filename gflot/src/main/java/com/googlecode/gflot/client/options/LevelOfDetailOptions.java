@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.gflot.client.options;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.googlecode.gflot.client.jsni.JsonObject;
+
+/**
+ * Level of detail options of a series. Each threshold is a density, in datapoints per pixel, above which a feature is
+ * not drawn. The density is the number of datapoints inside the x range divided by the width of the plot, so it is
+ * evaluated on each draw and the features come back when the plot is zoomed in.
+ */
+public class LevelOfDetailOptions
+    extends JsonObject
+{
+    /**
+     * Creates a {@link LevelOfDetailOptions}
+     */
+    public static final LevelOfDetailOptions create()
+    {
+        return JavaScriptObject.createObject().cast();
+    }
+
+    private static final String SHADOW_KEY = "shadow";
+    private static final String POINTS_KEY = "points";
+    private static final String FILL_KEY = "fill";
+
+    protected LevelOfDetailOptions()
+    {
+    }
+
+    /**
+     * Set the density above which the shadows are not drawn
+     */
+    public final LevelOfDetailOptions setShadowThreshold( double density )
+    {
+        assert density >= 0 : "density must be >= 0";
+
+        put( SHADOW_KEY, density );
+        return this;
+    }
+
+    /**
+     * @return the density above which the shadows are not drawn
+     */
+    public final Double getShadowThreshold()
+    {
+        return getDouble( SHADOW_KEY );
+    }
+
+    /**
+     * Clear the shadow threshold
+     */
+    public final LevelOfDetailOptions clearShadowThreshold()
+    {
+        clear( SHADOW_KEY );
+        return this;
+    }
+
+    /**
+     * Set the density above which the points are not drawn. A series showing neither lines nor bars keeps its points.
+     */
+    public final LevelOfDetailOptions setPointsThreshold( double density )
+    {
+        assert density >= 0 : "density must be >= 0";
+
+        put( POINTS_KEY, density );
+        return this;
+    }
+
+    /**
+     * @return the density above which the points are not drawn
+     */
+    public final Double getPointsThreshold()
+    {
+        return getDouble( POINTS_KEY );
+    }
+
+    /**
+     * Clear the points threshold
+     */
+    public final LevelOfDetailOptions clearPointsThreshold()
+    {
+        clear( POINTS_KEY );
+        return this;
+    }
+
+    /**
+     * Set the density above which the fill below the lines and the fill areas are not drawn
+     */
+    public final LevelOfDetailOptions setFillThreshold( double density )
+    {
+        assert density >= 0 : "density must be >= 0";
+
+        put( FILL_KEY, density );
+        return this;
+    }
+
+    /**
+     * @return the density above which the fills are not drawn
+     */
+    public final Double getFillThreshold()
+    {
+        return getDouble( FILL_KEY );
+    }
+
+    /**
+     * Clear the fill threshold
+     */
+    public final LevelOfDetailOptions clearFillThreshold()
+    {
+        clear( FILL_KEY );
+        return this;
+    }
+}
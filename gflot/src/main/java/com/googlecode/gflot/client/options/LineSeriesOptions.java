@@ -43,6 +43,7 @@ public class LineSeriesOptions
 
     private static final String STEPS_KEY = "steps";
     private static final String ZERO_KEY = "zero";
+    private static final String PIXEL_CULLING_KEY = "pixelCulling";
 
     protected LineSeriesOptions()
     {
@@ -102,4 +103,33 @@ public class LineSeriesOptions
         return this;
     }
 
+    /**
+     * Set whether the consecutive data points falling in the same pixel column are drawn as a single vertical stroke
+     * from their minimum to their maximum, and the data points outside the x range are skipped. The drawing time then
+     * depends on the width of the plot instead of the number of data points. Not applied when points or bars are
+     * shown or when the x values are not in ascending order.
+     */
+    public final LineSeriesOptions setPixelCulling( boolean pixelCulling )
+    {
+        put( PIXEL_CULLING_KEY, pixelCulling );
+        return this;
+    }
+
+    /**
+     * @return true if the data points are culled per pixel column before being drawn
+     */
+    public final Boolean getPixelCulling()
+    {
+        return getBoolean( PIXEL_CULLING_KEY );
+    }
+
+    /**
+     * Clear the pixel culling option
+     */
+    public final LineSeriesOptions clearPixelCulling()
+    {
+        clear( PIXEL_CULLING_KEY );
+        return this;
+    }
+
 }
@@ -47,6 +47,7 @@ public class PlotOptions
     private static final String CROSSHAIR_KEY = "crosshair";
     private static final String CANVAS_KEY = "canvas";
     private static final String INTERACTION_KEY = "interaction";
+    private static final String STREAMING_KEY = "streaming";
 
     /**
      * Creates a {@link PlotOptions}
@@ -355,4 +356,21 @@ public class PlotOptions
         return this;
     }
 
+    /**
+     * @return the streaming options
+     */
+    public final StreamingOptions getStreamingOptions()
+    {
+        return getJsObject( STREAMING_KEY );
+    }
+
+    /**
+     * Set the streaming options
+     */
+    public final PlotOptions setStreamingOptions( StreamingOptions streaming )
+    {
+        put( STREAMING_KEY, streaming );
+        return this;
+    }
+
 }
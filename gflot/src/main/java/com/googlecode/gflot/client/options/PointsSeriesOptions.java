@@ -102,6 +102,7 @@ public class PointsSeriesOptions
     private static final String ERROR_BARS_KEY = "errorbars";
     private static final String XERR_KEY = "xerr";
     private static final String YERR_KEY = "yerr";
+    private static final String SPRITE_KEY = "sprite";
 
     /**
      * Creates a {@link PointsSeriesOptions}
@@ -249,4 +250,32 @@ public class PointsSeriesOptions
         return this;
     }
 
+    /**
+     * Set whether the symbol is rendered once in an offscreen sprite and stamped on each point instead of being drawn
+     * as a path for each point. Works with all the {@link PointSymbol} values and is much faster for the series with
+     * many points. Not applied when the fill color is a gradient.
+     */
+    public final PointsSeriesOptions setSprite( boolean sprite )
+    {
+        put( SPRITE_KEY, sprite );
+        return this;
+    }
+
+    /**
+     * @return true if the points are stamped from a sprite
+     */
+    public final Boolean getSprite()
+    {
+        return getBoolean( SPRITE_KEY );
+    }
+
+    /**
+     * Clear the sprite option
+     */
+    public final PointsSeriesOptions clearSprite()
+    {
+        clear( SPRITE_KEY );
+        return this;
+    }
+
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.gflot.client.options;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.googlecode.gflot.client.jsni.JsonObject;
+
+/**
+ * Options of the streaming plugin. When enabled, {@link com.googlecode.gflot.client.jsni.Plot#draw()} scrolls the
+ * series drawn before and only draws the datapoints appended since, as long as the y ranges and the span of the x axes
+ * do not change. The grid is drawn on a separate layer.
+ * <p>
+ * Use it with {@link com.googlecode.gflot.client.SimplePlot#setIncrementalRedraw(boolean)}: a plot created again is
+ * always drawn entirely. The x values must be in ascending order. Fixed y ranges give the most benefit.
+ * </p>
+ */
+public class StreamingOptions
+    extends JsonObject
+{
+    /**
+     * Creates a {@link StreamingOptions}
+     */
+    public static final StreamingOptions create()
+    {
+        return JavaScriptObject.createObject().cast();
+    }
+
+    private static final String ENABLED_KEY = "enabled";
+
+    protected StreamingOptions()
+    {
+    }
+
+    /**
+     * Enable the scrolling of the series on draw
+     */
+    public final StreamingOptions setEnabled( boolean enabled )
+    {
+        put( ENABLED_KEY, enabled );
+        return this;
+    }
+
+    /**
+     * @return true if the scrolling of the series on draw is enabled
+     */
+    public final Boolean getEnabled()
+    {
+        return getBoolean( ENABLED_KEY );
+    }
+
+    /**
+     * Clear the enabled option
+     */
+    public final StreamingOptions clearEnabled()
+    {
+        clear( ENABLED_KEY );
+        return this;
+    }
+}
@@ -95,6 +95,22 @@ public class FlotJavaScriptLoader
         PluginLoader getFlotCategoriesLoader();
         
         PluginLoader getFlotBackgroundLoader();
+
+        PluginLoader getFlotColumnarLoader();
+
+        PluginLoader getFlotStaticLayerLoader();
+
+        PluginLoader getFlotStreamingLoader();
+
+        PluginLoader getFlotCullingLoader();
+
+        PluginLoader getFlotSpritesLoader();
+
+        PluginLoader getFlotLodLoader();
+
+        PluginLoader getFlotPoolLoader();
+
+        PluginLoader getFlotNearestLoader();
     }
 
     public static class SynchronousImpl
@@ -148,6 +164,22 @@ public class FlotJavaScriptLoader
 
         private PluginLoader flotBackgroundLoader;
 
+        private PluginLoader flotColumnarLoader;
+
+        private PluginLoader flotStaticLayerLoader;
+
+        private PluginLoader flotStreamingLoader;
+
+        private PluginLoader flotCullingLoader;
+
+        private PluginLoader flotSpritesLoader;
+
+        private PluginLoader flotLodLoader;
+
+        private PluginLoader flotPoolLoader;
+
+        private PluginLoader flotNearestLoader;
+
         @Override
         public void loadRequiredFlotLibrary( final FlotJavaScriptCallback callback )
         {
@@ -388,6 +420,86 @@ public class FlotJavaScriptLoader
             }
             return flotBackgroundLoader;
         }
+
+        @Override
+        public PluginLoader getFlotColumnarLoader()
+        {
+            if ( null == flotColumnarLoader )
+            {
+                flotColumnarLoader = GWT.create( FlotColumnarLoader.class );
+            }
+            return flotColumnarLoader;
+        }
+
+        @Override
+        public PluginLoader getFlotStaticLayerLoader()
+        {
+            if ( null == flotStaticLayerLoader )
+            {
+                flotStaticLayerLoader = GWT.create( FlotStaticLayerLoader.class );
+            }
+            return flotStaticLayerLoader;
+        }
+
+        @Override
+        public PluginLoader getFlotStreamingLoader()
+        {
+            if ( null == flotStreamingLoader )
+            {
+                flotStreamingLoader = GWT.create( FlotStreamingLoader.class );
+            }
+            return flotStreamingLoader;
+        }
+
+        @Override
+        public PluginLoader getFlotCullingLoader()
+        {
+            if ( null == flotCullingLoader )
+            {
+                flotCullingLoader = GWT.create( FlotCullingLoader.class );
+            }
+            return flotCullingLoader;
+        }
+
+        @Override
+        public PluginLoader getFlotSpritesLoader()
+        {
+            if ( null == flotSpritesLoader )
+            {
+                flotSpritesLoader = GWT.create( FlotSpritesLoader.class );
+            }
+            return flotSpritesLoader;
+        }
+
+        @Override
+        public PluginLoader getFlotLodLoader()
+        {
+            if ( null == flotLodLoader )
+            {
+                flotLodLoader = GWT.create( FlotLodLoader.class );
+            }
+            return flotLodLoader;
+        }
+
+        @Override
+        public PluginLoader getFlotPoolLoader()
+        {
+            if ( null == flotPoolLoader )
+            {
+                flotPoolLoader = GWT.create( FlotPoolLoader.class );
+            }
+            return flotPoolLoader;
+        }
+
+        @Override
+        public PluginLoader getFlotNearestLoader()
+        {
+            if ( null == flotNearestLoader )
+            {
+                flotNearestLoader = GWT.create( FlotNearestLoader.class );
+            }
+            return flotNearestLoader;
+        }
         
         private void load()
         {
@@ -414,6 +526,14 @@ public class FlotJavaScriptLoader
             getFlotErrorBarsLoader().load();
             getFlotCategoriesLoader().load();
             getFlotBackgroundLoader().load();
+            getFlotColumnarLoader().load();
+            getFlotStaticLayerLoader().load();
+            getFlotStreamingLoader().load();
+            getFlotCullingLoader().load();
+            getFlotSpritesLoader().load();
+            getFlotLodLoader().load();
+            getFlotPoolLoader().load();
+            getFlotNearestLoader().load();
         }
     }
 }
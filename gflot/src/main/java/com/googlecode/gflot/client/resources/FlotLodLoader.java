@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.gflot.client.resources;
+
+
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.resources.client.ClientBundle;
+import com.google.gwt.resources.client.TextResource;
+import com.googlecode.gflot.client.util.JavaScriptInjector;
+
+public class FlotLodLoader
+    extends DefaultLoader
+{
+    interface Bundle
+        extends ClientBundle
+    {
+        @Source( "jquery.flot.lod.min.js" )
+        TextResource flotLod();
+    }
+
+    private Bundle bundle;
+
+    private Bundle getBundle()
+    {
+        if ( null == bundle )
+        {
+            bundle = GWT.create( Bundle.class );
+        }
+        return bundle;
+    }
+
+    private boolean loaded;
+
+    @Override
+    public void load()
+    {
+        if ( !loaded )
+        {
+            JavaScriptInjector.inject( getBundle().flotLod().getText() );
+            loaded = true;
+        }
+    }
+
+}
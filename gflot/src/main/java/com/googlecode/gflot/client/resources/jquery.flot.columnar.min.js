@@ -0,0 +1 @@
+(function(g){var c=Number.MAX_VALUE;function f(i){var k=[];k.push({x:true,number:true,required:true});k.push({y:true,number:true,required:true});if(i.bars.show||(i.lines.show&&i.lines.fill)){var j=!!((i.bars.show&&i.bars.zero)||(i.lines.show&&i.lines.zero));k.push({y:true,number:true,required:false,defaultValue:0,autoscale:j});if(i.bars.horizontal){delete k[k.length-1].y;k[k.length-1].x=true}}return k}function b(k,j){var l=j+k.head;return k.head&&l>=k.x.length?l-k.x.length:l}function d(m){var k=new Array(m.length),j=m.x,q=m.y,o=m.z,l,n;for(l=0;l<m.length;++l){n=b(m,l);if(o&&o[n]===o[n]){k[l]=[j[n],q[n],o[n]]}else{k[l]=[j[n],q[n]]}}return k}function a(i){if(i==Infinity){return c}if(i==-Infinity){return -c}return i}function e(F,v,J,l){if(!J||!J.columnar){return}if(l.format||(v.lines.show&&v.lines.steps)){v.data=d(J);return}var I=f(v),D=I.length,A=J.length,G=J.points,o=J.synced;if(!G||J.syncedVersion!==J.version||J.syncedPointsize!==D||o>A){G=J.points=[];o=0}var u=J.x,t=J.y,r=J.z,H,E,C,w,q,B,j;for(H=o,E=o*D;H<A;++H,E+=D){w=b(J,H);q=u[w];B=t[w];if(q!==q||B!==B){for(C=0;C<D;++C){G[E+C]=null}continue}G[E]=a(q);G[E+1]=a(B);if(D>2){j=r?r[w]:NaN;G[E+2]=j===j?a(j):0}}G.length=A*D;J.synced=A;J.syncedVersion=J.version;J.syncedPointsize=D;l.format=I;l.pointsize=D;l.points=G;v.xaxis.used=v.yaxis.used=true}function h(i){i.hooks.processRawData.push(e)}g.plot.plugins.push({init:h,name:"columnar",version:"1.0"})})(jQuery);
\ No newline at end of file
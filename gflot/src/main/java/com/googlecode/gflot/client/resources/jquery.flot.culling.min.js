@@ -0,0 +1 @@
+(function(c){var b={series:{lines:{pixelCulling:false}}};function a(q){var z=q.datapoints.points,v=q.datapoints.pointsize,g=q.xaxis,t=z.length/v,r=[],h=null,k=-1,C=-1,o=-1,l=-1,s=-1,f=-Infinity,A,w,p,m;function e(j){for(var i=0;i<v;++i){r.push(z[j*v+i])}}function u(){if(h===null){return}var j=[k,C,o,l].sort(function(y,x){return y-x}),n=-1;for(var i=0;i<j.length;++i){if(j[i]!=n){e(j[i])}n=j[i]}h=null}for(A=0;A<t;++A){p=z[A*v];if(p==null){u();s=-1;for(w=0;w<v;++w){r.push(null)}continue}if(p<f){return null}f=p;if(p<g.min){s=A;continue}if(s>=0){e(s);s=-1}var B=Math.floor(g.p2c(p));m=z[A*v+1];if(B!==h){u();h=B;k=C=o=l=A}else{if(m<z[C*v+1]){C=A}if(m>z[o*v+1]){o=A}l=A}if(p>g.max){break}}u();if(s>=0){e(s)}return r}function d(g){var f=[];function e(){for(var h=0;h<f.length;++h){f[h].series.datapoints.points=f[h].points}f=[]}g.hooks.drawSeries.push(function(k,h,i){e();if(!i.lines.show||!i.lines.pixelCulling||i.points.show||i.bars.show){return}var j=a(i);if(j){f.push({series:i,points:i.datapoints.points});i.datapoints.points=j}});g.hooks.draw.push(function(){e()})}c.plot.plugins.push({init:d,options:b,name:"culling",version:"1.0"})})(jQuery);
\ No newline at end of file
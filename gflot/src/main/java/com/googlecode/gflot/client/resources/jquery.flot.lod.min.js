@@ -0,0 +1 @@
+(function(f){var b={series:{lod:{shadow:null,points:null,fill:null}}};function e(i){return i&&(i.shadow!=null||i.points!=null||i.fill!=null)}function g(n){var s=n.datapoints.points,j=n.datapoints.pointsize,p=0,q=true,o;for(o=0;o<s.length;o+=j){if(s[o]!=null){p++}}var l=typeof Float64Array!="undefined"?new Float64Array(p):new Array(p),m=0;for(o=0;o<s.length;o+=j){var r=s[o];if(r!=null){if(m>0&&r<l[m-1]){q=false}l[m++]=r}}if(!q){Array.prototype.sort.call(l,function(k,i){return k-i})}return l}function d(m,j,k){var i=0,n=m.length;while(i<n){var l=(i+n)>>1;if(m[l]<j||(k&&m[l]==j)){i=l+1}else{n=l}}return i}function c(l,j){var i=j.lodSortedX,k=j.xaxis;return(d(i,k.max,true)-d(i,k.min,false))/Math.max(1,l.width())}function a(j,i){return i!=null&&j>i}function h(k){var l=[];function j(o,m,n){l.push({target:o,key:m,value:o[m]});o[m]=n}function i(){for(var m=l.length-1;m>=0;--m){l[m].target[l[m].key]=l[m].value}l=[]}k.hooks.processDatapoints.push(function(n,m){m.lodSortedX=e(m.lod)?g(m):null});k.hooks.drawSeries.unshift(function(q,n,o){if(!e(o.lod)||!o.lodSortedX){return}var p=o.lod,m=c(q,o);if(a(m,p.shadow)&&o.shadowSize>0){j(o,"shadowSize",0)}if(a(m,p.points)&&o.points.show&&(o.lines.show||o.bars.show)){j(o.points,"show",false)}if(a(m,p.fill)){if(o.lines.fill){j(o.lines,"fill",false)}if(o.fillArea){j(o,"fillArea",null)}}});k.hooks.processOptions.push(function(m){m.hooks.draw.push(function(){i()})})}f.plot.plugins.push({init:h,options:b,name:"lod",version:"1.0"})})(jQuery);
\ No newline at end of file
@@ -0,0 +1 @@
+(function(c){var l={grid:{nearestIndex:false}};var g=16;function j(n,q){var m=0,p=n.length;while(m<p){var o=(m+p)>>>1;if(n[o]<q){m=o+1}else{p=o}}return m}function d(o,p,q,r){for(var n=r;n<p.length;n+=q){var m=p[n];if(m==null){continue}if(m<o.lastX){return false}o.xs.push(m);o.ids.push(n/q);o.lastX=m}return true}function f(n,o){var m={sorted:true,xs:[],ids:[],lastX:-Infinity};return d(m,n,o,0)?m:null}function h(n,m){return Math.max(0,Math.min(n.size-1,Math.floor((m-n.minX)/n.cellWidth)))}function e(m,n){return Math.max(0,Math.min(m.size-1,Math.floor((n-m.minY)/m.cellHeight)))}function i(p,q,r,t){for(var o=t;o<q.length;o+=r){var n=q[o],s=q[o+1];if(n==null||s==null){continue}if(n<p.minX||n>p.maxX||s<p.minY||s>p.maxY){p.outside++}var m=h(p,n)+e(p,s)*p.size;(p.cells[m]||(p.cells[m]=[])).push(o/r);p.count++}return p.outside<=p.built/4&&p.count<=2*p.built}function b(w,m){var q=Infinity,o=-Infinity,p=Infinity,n=-Infinity,t=0;for(var r=0;r<w.length;r+=m){var v=w[r],u=w[r+1];if(v==null||u==null){continue}q=Math.min(q,v);o=Math.max(o,v);p=Math.min(p,u);n=Math.max(n,u);t++}if(!t){q=o=p=n=0}var z=Math.max(1,Math.ceil(Math.sqrt(t/g))),s={sorted:false,size:z,cells:[],built:t,count:0,outside:0,minX:q,maxX:o,minY:p,maxY:n,cellWidth:(o-q)/z||1,cellHeight:(n-p)/z||1};i(s,w,m,0);return s}function a(o,q,p){var n=o.c2p(q-p),m=o.c2p(q+p);return n<m?[n,m]:[m,n]}function k(t){var v=[],u=false,o=false,w=false,x=null,z=[];function s(C){return C.data&&C.data.columnar?C.data.version:null}function B(C,D){return C.points===D.datapoints.points&&C.version===s(D)&&C.points.length>=C.length}function n(F,H){var G=H.datapoints.points,I=H.datapoints.pointsize,D=v[F],C=!!(H.lines.show||(H.bars.show&&!H.bars.horizontal)),E=null;if(D&&D.ps==I&&D.sorted==C&&B(D,H)){E=D.index;if(D.length==G.length){return E}if(!(E.sorted?d:i)(E,G,I,D.length)){E=null}}if(!E&&C){E=f(G,I)}if(!E){E=b(G,I)}v[F]={index:E,ps:I,sorted:C,points:G,length:G.length,version:s(H)};return E}function A(L,E,D,K){var H;if(L.sorted){for(H=j(L.xs,E[0]);H<L.xs.length&&L.xs[H]<=E[1];++H){K(L.ids[H])}return}var J=h(L,E[0]),I=h(L,E[1]),G=e(L,D[0]),F=e(L,D[1]);for(var C=G;C<=F;++C){for(var M=J;M<=I;++M){var N=L.cells[M+C*L.size];if(N){for(H=0;H<N.length;++H){K(N[H])}}}}}function q(L,J,D){var M=t.getData(),P=t.getOptions().grid.mouseActiveRadius,aa=P*P+1,Z=null,W;for(W=M.length-1;W>=0;--W){var R=M[W];if(!D(R)||!(R.lines.show||R.points.show||R.bars.show)){continue}var V=R.datapoints.points,T=R.datapoints.pointsize,K=R.xaxis,I=R.yaxis,H=n(W,R);if(R.lines.show||R.points.show){var F=a(K,L,P),E=a(I,J,P),N=-1;A(H,F,E,function(ae){var ab=V[ae*T],ag=V[ae*T+1];if(ab==null||ag==null||ab<F[0]||ab>F[1]||ag<E[0]||ag>E[1]){return}var ad=K.p2c(ab)-L,ac=I.p2c(ag)-J,af=ad*ad+ac*ac;if(af<aa||(af==aa&&N>=0&&ae<N)){aa=af;N=ae}});if(N>=0){Z=[W,N]}}if(R.bars.show&&!Z){var G,Q=K.c2p(L),O=I.c2p(J),Y=R.bars.horizontal;switch(R.bars.align){case"left":G=0;break;case"right":G=-R.bars.barWidth;break;default:G=-R.bars.barWidth/2}var X=G+R.bars.barWidth;var C=function(ad){var ac=V[ad*T],ae=V[ad*T+1],ab=V[ad*T+2];if(ac==null){return}if(Y?(Q<=Math.max(ab,ac)&&Q>=Math.min(ab,ac)&&O>=ae+G&&O<=ae+X):(Q>=ac+G&&Q<=ac+X&&O>=Math.min(ab,ae)&&O<=Math.max(ab,ae))){Z=[W,ad]}};if(H.sorted&&!Y){A(H,[Q-X,Q-G],null,C)}else{for(var U=0;U<V.length/T;++U){C(U)}}}}if(!Z){return null}var R=M[Z[0]],S=R.datapoints.pointsize;return{datapoint:R.datapoints.points.slice(Z[1]*S,(Z[1]+1)*S),dataIndex:Z[1],series:R,seriesIndex:Z[0]}}function m(D,C,F){var G=x.offset(),E=t.getPlotOffset(),J=C.pageX-G.left-E.left,H=C.pageY-G.top-E.top,L=t.c2p({left:J,top:H});L.pageX=C.pageX;L.pageY=C.pageY;var M=q(J,H,F);if(M){M.pageX=parseInt(M.series.xaxis.p2c(M.datapoint[0])+G.left+E.left,10);M.pageY=parseInt(M.series.yaxis.p2c(M.datapoint[1])+G.top+E.top,10)}if(t.getOptions().grid.autoHighlight){for(var I=z.length-1;I>=0;--I){var K=z[I];if(K.auto==D&&!(M&&K.series==M.series&&K.point[0]==M.datapoint[0]&&K.point[1]==M.datapoint[1])){t.unhighlight(K.series,K.point);z.splice(I,1)}}if(M){t.highlight(M.series,M.datapoint,D);z.push({series:M.series,point:M.datapoint,auto:D})}}t.getPlaceholder().trigger(D,[L,M])}function p(C){if(t.getOptions().grid.hoverable){m("plothover",C,function(D){return D.hoverable!=false})}}function r(C){if(t.getOptions().grid.hoverable){m("plothover",C,function(D){return false})}}function y(C){m("plotclick",C,function(D){return D.clickable!=false})}t.findNearbyItem=q;t.hooks.processOptions.push(function(D,C){u=C.grid.nearestIndex;if(u){o=C.grid.hoverable;w=C.grid.clickable;C.grid.hoverable=false;C.grid.clickable=false}});t.hooks.bindEvents.unshift(function(E,D){if(!u){return}var C=E.getOptions().grid;C.hoverable=o;C.clickable=w;x=D;if(o){D.mousemove(p);D.bind("mouseleave",r)}if(w){D.click(y)}});t.hooks.shutdown.push(function(D,C){if(x){x.unbind("mousemove",p);x.unbind("mouseleave",r);x.unbind("click",y)}x=null;v=[];z=[]})}c.plot.plugins.push({init:k,options:l,name:"nearest",version:"1.0"})})(jQuery);
\ No newline at end of file
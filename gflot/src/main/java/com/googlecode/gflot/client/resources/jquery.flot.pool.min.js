@@ -0,0 +1 @@
+(function(c){var d=false;var b=["getTextLayer","getTextInfo","addText","removeText","render"];function a(g){if(g.pooled){return}g.pooled=true;var h=g.element,i=h.flotSurface;h.flotSurface=g;if(!i||i.textContainer==null||g.textContainer!=null){return}g.textContainer=i.textContainer.insertAfter(h);g.text=i.text;g._textCache=i._textCache;i.textContainer=null;i.text={};i._textCache={}}function f(g){if(d){return}d=true;c.each(b,function(j,h){var k=g.prototype[h];g.prototype[h]=function(){a(this);return k.apply(this,arguments)}})}function e(h,g){f(g.Canvas);h.hooks.processOptions.push(function(i){i.getPlaceholder().children(".flot-text").detach()})}c.plot.plugins.push({init:e,name:"pool",version:"1.0"})})(jQuery);
\ No newline at end of file
@@ -0,0 +1 @@
+(function(b){var i={series:{points:{sprite:false}}};var d=256;var f=0;function e(j){if(typeof j!="function"){return j}if(!j.spriteId){j.spriteId="f"+(++f)}return j.spriteId}function a(k,j){if(!k.fill){return null}if(k.fillColor){return typeof k.fillColor=="string"?k.fillColor:undefined}var l=b.color.parse(j);l.a=typeof k.fill=="number"?k.fill:0.4;l.normalize();return l.toString()}function g(l,n,k,p,j,m,o){l.beginPath();if(n=="circle"){l.arc(k,p,j,0,o?Math.PI:Math.PI*2,false)}else{n(l,k,p,j,o)}l.closePath();if(m){l.fillStyle=m;l.fill()}l.stroke()}function c(m,l){var k=document.createElement("canvas");k.width=k.height=2*m;var j=k.getContext("2d");j.scale(l,l);return{canvas:k,context:j}}function h(n){var p={},m=0,o=[];function j(v,F,s,z){var r=v.points,u=r.symbol,y=r.radius,t=r.lineWidth==0?0.0001:r.lineWidth,C=t>0&&s>0?s:0,E=[e(u),y,t,C,v.color,F,z].join("|"),D=p[E];if(D){return D}if(m>=d){p={};m=0}var q=Math.ceil((3*y+t+C+1)*z),A=q/z,x;D={centre:q,shadow:null};if(C>0){var B=C/2;x=c(q,z);x.context.lineWidth=B;x.context.strokeStyle="rgba(0,0,0,0.1)";g(x.context,u,A,A+B+B/2,y,null,true);x.context.strokeStyle="rgba(0,0,0,0.2)";g(x.context,u,A,A+B/2,y,null,true);D.shadow=x.canvas}x=c(q,z);x.context.lineWidth=t;x.context.strokeStyle=v.color;g(x.context,u,A,A,y,F,false);D.main=x.canvas;p[E]=D;m++;return D}function l(E,v,s,r,w){var D=v.datapoints.points,q=v.datapoints.pointsize,C=v.xaxis,B=v.yaxis,t=n.getPlotOffset(),F=s.width/w;for(var u=0;u<D.length;u+=q){var A=D[u],z=D[u+1];if(A==null||z==null||A<C.min||A>C.max||z<B.min||z>B.max){continue}A=Math.round((t.left+C.p2c(A))*w)-r;z=Math.round((t.top+B.p2c(z))*w)-r;E.drawImage(s,A/w,z/w,F,F)}}function k(q){if(!o.length){return}var r=n.getCanvas(),w=b(r).width(),v=w>0?r.width/w:1;for(var u=0;u<o.length;++u){var t=o[u].series,s=j(t,o[u].fillStyle,o[u].shadowSize,v);if(s.shadow){l(q,t,s.shadow,s.centre,v)}l(q,t,s.main,s.centre,v);t.points.show=true}o=[]}n.hooks.drawSeries.push(function(u,q,s){k(q);var t=s.points;if(!t.show||!t.sprite||(t.symbol!="circle"&&typeof t.symbol!="function")){return}var r=a(t,s.color);if(r===undefined){return}t.show=false;o.push({series:s,fillStyle:r,shadowSize:s.shadowSize})});n.hooks.draw.push(function(r,q){k(q)});n.hooks.shutdown.push(function(){p={};m=0;o=[]})}b.plot.plugins.push({init:h,options:i,name:"sprites",version:"1.0"})})(jQuery);
\ No newline at end of file
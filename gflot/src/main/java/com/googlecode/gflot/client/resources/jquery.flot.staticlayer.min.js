@@ -0,0 +1 @@
+(function(d){var j={grid:{staticLayer:false}};function e(u,t,k,r,m){if(typeof t=="string"){return t}var s=u.createLinearGradient(0,r,0,k);for(var o=0,n=t.colors.length;o<n;++o){var p=t.colors[o];if(typeof p!="string"){var q=d.color.parse(m);if(p.brightness!=null){q=q.scale("rgb",p.brightness)}if(p.opacity!=null){q.a*=p.opacity}p=q.toString()}s.addColorStop(o/(n-1),p)}return s}function b(p,k,o){var l,r,s,t,q=o=="x"?p.getXAxes():p.getYAxes();for(var n=0;n<q.length;++n){l=q[n];if(l){t=o+l.n+"axis";if(!k[t]&&l.n==1){t=o+"axis"}if(k[t]){r=k[t].from;s=k[t].to;break}}}if(!k[t]){l=q[0];r=k[o+"1"];s=k[o+"2"]}if(r!=null&&s!=null&&r>s){var m=r;r=s;s=m}return{from:r,to:s,axis:l}}function c(n,k){var l=n.getPlotOffset(),m=n.height();k.save();k.translate(l.left,l.top);k.fillStyle=e(k,n.getOptions().grid.backgroundColor,m,0,"rgba(255, 255, 255, 0)");k.fillRect(0,0,n.width(),m);k.restore()}function a(t,x,r){var k=t.getOptions().grid,u,o;if(d.isFunction(r)){u=t.getAxes();u.xmin=u.xaxis.min;u.xmax=u.xaxis.max;u.ymin=u.yaxis.min;u.ymax=u.yaxis.max;r=r(u)}for(o=0;o<r.length;++o){var n=r[o],l=b(t,n,"x"),s=b(t,n,"y");if(l.from==null){l.from=l.axis.min}if(l.to==null){l.to=l.axis.max}if(s.from==null){s.from=s.axis.min}if(s.to==null){s.to=s.axis.max}if(l.to<l.axis.min||l.from>l.axis.max||s.to<s.axis.min||s.from>s.axis.max){continue}l.from=Math.max(l.from,l.axis.min);l.to=Math.min(l.to,l.axis.max);s.from=Math.max(s.from,s.axis.min);s.to=Math.min(s.to,s.axis.max);var q=l.from===l.to,v=s.from===s.to;if(q&&v){continue}l.from=Math.floor(l.axis.p2c(l.from));l.to=Math.floor(l.axis.p2c(l.to));s.from=Math.floor(s.axis.p2c(s.from));s.to=Math.floor(s.axis.p2c(s.to));if(q||v){var p=n.lineWidth||k.markingsLineWidth,w=p%2?0.5:0;x.beginPath();x.strokeStyle=n.color||k.markingsColor;x.lineWidth=p;if(q){x.moveTo(l.to+w,s.from);x.lineTo(l.to+w,s.to)}else{x.moveTo(l.from,s.to+w);x.lineTo(l.to,s.to+w)}x.stroke()}else{x.fillStyle=n.color||k.markingsColor;x.fillRect(l.from,s.to,l.to-l.from,s.from-s.to)}}}function g(p,E){var k=p.getPlotOffset(),s=p.width(),u=p.height(),r=d.grep(p.getXAxes().concat(p.getYAxes()),function(t){return t}),z=p.getOptions().grid.borderWidth,n;for(var m=0;m<r.length;++m){var l=r[m],o=l.box,D=l.tickLength,A,w,C,q;if(!l.show||l.ticks.length==0){continue}E.lineWidth=1;if(l.direction=="x"){A=0;if(D=="full"){w=(l.position=="top"?0:u)}else{w=o.top-k.top+(l.position=="top"?o.height:0)}}else{w=0;if(D=="full"){A=(l.position=="left"?0:s)}else{A=o.left-k.left+(l.position=="left"?o.width:0)}}if(!l.innermost){E.strokeStyle=l.options.color;E.beginPath();C=q=0;if(l.direction=="x"){C=s+1;w=Math.floor(w)+0.5}else{q=u+1;A=Math.floor(A)+0.5}E.moveTo(A,w);E.lineTo(A+C,w+q);E.stroke()}E.strokeStyle=l.options.tickColor;E.beginPath();for(n=0;n<l.ticks.length;++n){var B=l.ticks[n].v;C=q=0;if(isNaN(B)||B<l.min||B>l.max||(D=="full"&&((typeof z=="object"&&z[l.position]>0)||z>0)&&(B==l.min||B==l.max))){continue}if(l.direction=="x"){A=Math.floor(l.p2c(B))+0.5;q=D=="full"?-u:D;if(l.position=="top"){q=-q}}else{w=Math.floor(l.p2c(B))+0.5;C=D=="full"?-s:D;if(l.position=="left"){C=-C}}E.moveTo(A,w);E.lineTo(A+C,w+q)}E.stroke()}}function i(p,k){var m=p.getOptions().grid,q=m.borderWidth,o=m.borderColor,n=p.width(),l=p.height();if(!q){return}if(typeof q=="object"||typeof o=="object"){if(typeof q!=="object"){q={top:q,right:q,bottom:q,left:q}}if(typeof o!=="object"){o={top:o,right:o,bottom:o,left:o}}if(q.top>0){k.strokeStyle=o.top;k.lineWidth=q.top;k.beginPath();k.moveTo(0-q.left,0-q.top/2);k.lineTo(n,0-q.top/2);k.stroke()}if(q.right>0){k.strokeStyle=o.right;k.lineWidth=q.right;k.beginPath();k.moveTo(n+q.right/2,0-q.top);k.lineTo(n+q.right/2,l);k.stroke()}if(q.bottom>0){k.strokeStyle=o.bottom;k.lineWidth=q.bottom;k.beginPath();k.moveTo(n+q.right,l+q.bottom/2);k.lineTo(0,l+q.bottom/2);k.stroke()}if(q.left>0){k.strokeStyle=o.left;k.lineWidth=q.left;k.beginPath();k.moveTo(0-q.left/2,l+q.bottom);k.lineTo(0-q.left/2,0);k.stroke()}}else{k.lineWidth=q;k.strokeStyle=o;k.strokeRect(-q/2,-q/2,n+q,l+q)}}function f(n,l){var m=n.getPlotOffset(),k=n.getOptions().grid.markings;l.save();l.translate(m.left,m.top);if(k){a(n,l,k)}g(n,l);i(n,l);l.restore()}function h(p){var n=null,k=p.draw,l=null;function q(){var u=p.getCanvas(),t=d(u).width(),r=d(u).height();if(!n||!n.element.parentNode){n=u.flotStaticLayer;u.flotStaticLayer=null;if(!n){var s=document.createElement("canvas");s.className="flot-static";d(s).css({direction:"ltr",position:"absolute",left:0,top:0});n={element:s,context:s.getContext("2d")}}d(n.element).insertBefore(u);l=null}if(n.element.width!=u.width||n.element.height!=u.height||n.width!=t||n.height!=r){n.element.width=u.width;n.element.height=u.height;n.element.style.width=t+"px";n.element.style.height=r+"px";n.width=t;n.height=r;n.pixelRatio=u.width/t}return n}function o(){var r=p.getOptions().grid;return r.show&&r.staticLayer&&!r.aboveData}function m(){var s=p.getCanvas(),x=p.getPlotOffset(),u=[s.width,s.height,x.left,x.top,p.width(),p.height()],w=p.getXAxes().concat(p.getYAxes());for(var t=0;t<w.length;++t){var v=w[t];if(!v){continue}u.push(v.min,v.max,v.ticks.length);for(var r=0;r<v.ticks.length;++r){u.push(v.ticks[r].v)}}return u.join(",")}p.invalidateStaticLayer=function(){l=null};p.drawStaticLayer=function(){var s=q(),r=s.context,u=p.getOptions().grid,t=m();if(t===l){return}l=t;r.setTransform(1,0,0,1,0,0);r.clearRect(0,0,s.element.width,s.element.height);r.scale(s.pixelRatio,s.pixelRatio);if(u.backgroundColor){c(p,r)}f(p,r)};p.draw=function(){if(!o()){if(n&&l!==null){n.context.clearRect(0,0,n.element.width,n.element.height);l=null}k();return}p.drawStaticLayer();var r=p.getOptions().grid;r.show=false;try{k()}finally{r.show=true}};p.hooks.shutdown.push(function(){if(n){d(n.element).detach();p.getCanvas().flotStaticLayer=n}n=null;l=null})}d.plot.plugins.push({init:h,options:j,name:"staticlayer",version:"1.0"})})(jQuery);
\ No newline at end of file
@@ -0,0 +1 @@
+(function(b){var a={streaming:{enabled:false}};function c(j){var e=j.draw,i=null;j.hooks.processOptions.push(function(l,k){if(k.streaming.enabled){k.grid.staticLayer=true}});function f(u){var m=j.getCanvas(),q=j.getPlotOffset(),r=j.getData(),p=j.getXAxes(),l=j.getYAxes(),s;i={width:m.width,height:m.height,cssWidth:b(m).width(),left:q.left,top:q.top,plotWidth:j.width(),plotHeight:j.height(),xaxes:[],yaxes:[],series:[],carry:u};for(s=0;s<p.length;++s){i.xaxes.push(p[s]?{min:p[s].min,max:p[s].max}:null)}for(s=0;s<l.length;++s){i.yaxes.push(l[s]?{min:l[s].min,max:l[s].max}:null)}for(s=0;s<r.length;++s){var t=r[s].datapoints.points,k=r[s].datapoints.pointsize,o=t.length/k;i.series.push(o>0?{x:t[(o-1)*k],y:t[(o-1)*k+1]}:{x:null,y:null})}}function h(){var v=j.getOptions(),l=j.getCanvas(),p=j.getPlotOffset(),n=j.getXAxes(),k=j.getYAxes(),m=null,q;if(!i||!j.drawStaticLayer||v.canvas||v.grid.aboveData||l.width!=i.width||l.height!=i.height||p.left!=i.left||p.top!=i.top||j.width()!=i.plotWidth||j.height()!=i.plotHeight||j.getData().length!=i.series.length||n.length!=i.xaxes.length||k.length!=i.yaxes.length){return null}for(q=0;q<k.length;++q){if(k[q]&&(k[q].min!==i.yaxes[q].min||k[q].max!==i.yaxes[q].max)){return null}}for(q=0;q<n.length;++q){var o=n[q],r=i.xaxes[q];if(!o||!o.used){continue}var t=o.max-o.min;if(Math.abs(t-(r.max-r.min))>1e-9*Math.abs(t)){return null}var u=(o.min-r.min)*o.scale;if(m===null){m=u}else{if(Math.abs(u-m)>0.000001){return null}}}if(m===null||m<0||m>=j.width()){return null}return m}function g(n,o){var m=n.datapoints.points,p=n.datapoints.pointsize;if(o.x===null){return o.y===null&&m.length==0?-1:null}for(var l=m.length/p-1;l>=0;--l){var k=m[l*p];if(k===null){continue}if(k<o.x){break}if(k===o.x&&m[l*p+1]===o.y){return l}}return null}function d(){var B=h();if(B===null){return false}var q=j.getData(),o=j.getPlotOffset(),A,r;var y=o.left+j.width();for(A=0;A<q.length;++A){r=q[A];if(r.bars.show){return false}var l=g(r,i.series[A]);if(l===null){return false}if(l<0||!(r.lines.show||r.points.show)){continue}var C=r.lines.lineWidth/2+r.shadowSize+(r.points.show?r.points.radius+r.points.lineWidth:0)+1;y=Math.min(y,o.left+r.xaxis.p2c(i.series[A].x)-C)}y=Math.max(y,o.left);var m=j.getCanvas(),w=m.getContext("2d"),p=m.width/i.cssWidth,n=Math.round(o.left*p),u=Math.round(j.width()*p),F=B+i.carry,D=Math.round(F*p),t=Math.min(Math.floor(y*p),n+u-D);w.save();w.setTransform(1,0,0,1,0,0);if(D>0){w.drawImage(m,n+D,0,u-D,m.height,n,0,u-D,m.height)}w.clearRect(t,0,m.width-t,m.height);w.restore();var E=[];for(A=0;A<q.length;++A){r=q[A];var z=r.datapoints.points,v=r.datapoints.pointsize,x=z.length/v-1;while(x>0&&(z[x*v]===null||o.left+r.xaxis.p2c(z[x*v])>=t/p)){--x}E.push(z);if(x>0){r.datapoints.points=z.slice(x*v)}}w.save();w.beginPath();w.rect(t/p,0,m.width/p-t/p,m.height/p);w.clip();w.clearRect=function(){};try{e()}finally{delete w.clearRect;w.restore();for(A=0;A<q.length;++A){q[A].datapoints.points=E[A]}}f(F-D/p);return true}j.draw=function(){if(!j.getOptions().streaming.enabled){e();return}if(!d()){e();f(0)}}}b.plot.plugins.push({init:c,options:a,name:"streaming",version:"1.0"})})(jQuery);
\ No newline at end of file
@@ -32,41 +32,273 @@ import com.googlecode.gflot.client.SeriesData;
 public class Algorithm
 {
 
-    public static int xBinarySearch( SeriesData s, double xValue )
+    /**
+     * Searches the first datapoint whose x value is greater than or equal to the given value. The x values of the data
+     * must be sorted in ascending order.
+     *
+     * @param s the data
+     * @param xValue the x value to search
+     * @return the index of the first datapoint whose x value is greater than or equal to xValue, or the length of the
+     * data if there is none
+     */
+    public static int xLowerBound( SeriesData s, double xValue )
     {
-        return xBinarySearch( s, 0, s.length(), xValue );
+        return xLowerBound( s, 0, s.length(), xValue );
     }
 
-    public static int xBinarySearch( SeriesData s, int fromIndex, int toIndex, double xValue )
+    /**
+     * Searches the first datapoint whose x value is greater than or equal to the given value between fromIndex
+     * (inclusive) and toIndex (exclusive). The x values of the data must be sorted in ascending order.
+     *
+     * @param s the data
+     * @param fromIndex the index of the first datapoint searched
+     * @param toIndex the index following the last datapoint searched
+     * @param xValue the x value to search
+     * @return the index of the first datapoint whose x value is greater than or equal to xValue, or toIndex if there is
+     * none
+     */
+    public static int xLowerBound( SeriesData s, int fromIndex, int toIndex, double xValue )
     {
-        if ( fromIndex > toIndex )
+        int low = fromIndex;
+        int high = toIndex;
+        while ( low < high )
+        {
+            int mid = ( low + high ) >>> 1;
+            if ( s.getX( mid ) < xValue )
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Searches the first datapoint whose x value is greater than the given value. The x values of the data must be
+     * sorted in ascending order.
+     *
+     * @param s the data
+     * @param xValue the x value to search
+     * @return the index of the first datapoint whose x value is greater than xValue, or the length of the data if there
+     * is none
+     */
+    public static int xUpperBound( SeriesData s, double xValue )
+    {
+        return xUpperBound( s, 0, s.length(), xValue );
+    }
+
+    /**
+     * Searches the first datapoint whose x value is greater than the given value between fromIndex (inclusive) and
+     * toIndex (exclusive). The x values of the data must be sorted in ascending order.
+     *
+     * @param s the data
+     * @param fromIndex the index of the first datapoint searched
+     * @param toIndex the index following the last datapoint searched
+     * @param xValue the x value to search
+     * @return the index of the first datapoint whose x value is greater than xValue, or toIndex if there is none
+     */
+    public static int xUpperBound( SeriesData s, int fromIndex, int toIndex, double xValue )
+    {
+        int low = fromIndex;
+        int high = toIndex;
+        while ( low < high )
+        {
+            int mid = ( low + high ) >>> 1;
+            if ( s.getX( mid ) <= xValue )
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Searches the last datapoint whose x value is less than or equal to the given value. The x values of the data must
+     * be sorted in ascending order.
+     *
+     * @param s the data
+     * @param xValue the x value to search
+     * @return the index of the last datapoint whose x value is less than or equal to xValue, or -1 if there is none
+     */
+    public static int xFloor( SeriesData s, double xValue )
+    {
+        return xUpperBound( s, xValue ) - 1;
+    }
+
+    /**
+     * Searches the first datapoint whose x value is greater than or equal to the given value. The x values of the data
+     * must be sorted in ascending order.
+     *
+     * @param s the data
+     * @param xValue the x value to search
+     * @return the index of the first datapoint whose x value is greater than or equal to xValue, or -1 if there is none
+     */
+    public static int xCeiling( SeriesData s, double xValue )
+    {
+        int index = xLowerBound( s, xValue );
+        return index < s.length() ? index : -1;
+    }
+
+    /**
+     * Searches the datapoint whose x value is the closest to the given value. When two datapoints are at the same
+     * distance, the first one is returned. The x values of the data must be sorted in ascending order.
+     *
+     * @param s the data
+     * @param xValue the x value to search
+     * @return the index of the datapoint whose x value is the closest to xValue, or -1 if the data is empty
+     */
+    public static int xNearest( SeriesData s, double xValue )
+    {
+        int length = s.length();
+        if ( length == 0 )
         {
             return -1;
         }
-        int lMid = fromIndex + (int) Math.floor( ( toIndex - fromIndex ) / 2 );
-        int rMid = lMid + 1;
+        int index = xLowerBound( s, xValue );
+        if ( index == 0 )
+        {
+            return 0;
+        }
+        if ( index == length )
+        {
+            return length - 1;
+        }
+        return xValue - s.getX( index - 1 ) <= s.getX( index ) - xValue ? index - 1 : index;
+    }
 
-        if ( xValue < s.getX( lMid ) )
+    /**
+     * Searches the datapoints whose x value is between x1 and x2, both inclusive. The x values of the data must be
+     * sorted in ascending order. No object is allocated, the span is written in the given array.
+     *
+     * @param s the data
+     * @param x1 the minimum x value
+     * @param x2 the maximum x value
+     * @param span array of at least 2 elements receiving the index of the first datapoint in the range and the index
+     * following the last one. Both are equal if there is no datapoint in the range.
+     * @return the number of datapoints in the range
+     */
+    public static int xRange( SeriesData s, double x1, double x2, int[] span )
+    {
+        int begin = xLowerBound( s, x1 );
+        int end = xUpperBound( s, begin, s.length(), x2 );
+        span[0] = begin;
+        span[1] = end;
+        return end - begin;
+    }
+
+    /**
+     * Same as {@link #xLowerBound(SeriesData, double)} but guesses the position of the value from the x values at the
+     * bounds of the searched range. On uniformly sampled data, the index is found in a few steps whatever the length
+     * of the data. A step halving the range is done each time a guess does not, so the search never takes more than
+     * twice the steps of a binary search.
+     *
+     * @param s the data
+     * @param xValue the x value to search
+     * @return the index of the first datapoint whose x value is greater than or equal to xValue, or the length of the
+     * data if there is none
+     */
+    public static int xInterpolationLowerBound( SeriesData s, double xValue )
+    {
+        int low = 0;
+        int high = s.length();
+        boolean bisect = false;
+        while ( low < high )
         {
-            return xBinarySearch( s, fromIndex, lMid - 1, xValue );
+            double lowX = s.getX( low );
+            double highX = s.getX( high - 1 );
+            if ( !( xValue > lowX ) )
+            {
+                return low;
+            }
+            if ( xValue > highX )
+            {
+                return high;
+            }
+
+            int mid;
+            if ( bisect )
+            {
+                mid = ( low + high ) >>> 1;
+            }
+            else
+            {
+                // lowX < xValue <= highX so the guess is in the range
+                mid = low + (int) ( ( xValue - lowX ) / ( highX - lowX ) * ( high - 1 - low ) );
+            }
+
+            int size = high - low;
+            if ( s.getX( mid ) < xValue )
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+            bisect = high - low > size / 2;
         }
-        if ( xValue == s.getX( lMid ) )
+        return low;
+    }
+
+    /**
+     * Searches a datapoint whose x value is equal or close to the given value. Prefer
+     * {@link #xNearest(SeriesData, double)}, {@link #xFloor(SeriesData, double)} or
+     * {@link #xCeiling(SeriesData, double)} whose results are defined for every value.
+     *
+     * @param s the data
+     * @param xValue the x value to search
+     * @return the index of a datapoint whose x value is equal to xValue, the closest of the two datapoints around it,
+     * or -1 if xValue is outside the range of the data
+     */
+    public static int xBinarySearch( SeriesData s, double xValue )
+    {
+        return xBinarySearch( s, 0, s.length(), xValue );
+    }
+
+    /**
+     * Same as {@link #xBinarySearch(SeriesData, double)} between fromIndex and toIndex.
+     */
+    public static int xBinarySearch( SeriesData s, int fromIndex, int toIndex, double xValue )
+    {
+        if ( s.isEmpty() )
         {
-            return lMid;
+            // the loop would read the first datapoint
+            return -1;
         }
-        if ( rMid < s.length() )
+        while ( fromIndex <= toIndex )
         {
+            int lMid = fromIndex + ( toIndex - fromIndex ) / 2;
+            int rMid = lMid + 1;
+
+            if ( xValue < s.getX( lMid ) )
+            {
+                toIndex = lMid - 1;
+                continue;
+            }
+            if ( xValue == s.getX( lMid ) )
+            {
+                return lMid;
+            }
+            if ( rMid >= s.length() )
+            {
+                return -1;
+            }
             if ( xValue > s.getX( rMid ) )
             {
-                return xBinarySearch( s, rMid, toIndex, xValue );
+                fromIndex = rMid;
+                continue;
             }
             double rVal = s.getX( rMid );
             double lVal = s.getX( lMid );
             return Math.abs( rVal - xValue ) > Math.abs( lVal - xValue ) ? lMid : rMid;
         }
-        else
-        {
-            return -1;
-        }
+        return -1;
     }
 }
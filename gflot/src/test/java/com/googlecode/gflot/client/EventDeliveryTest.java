@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.gflot.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import com.google.gwt.user.client.Timer;
+
+public class EventDeliveryTest
+    extends GWTTestCase
+{
+
+    /**
+     * Gate recording the events delivered
+     */
+    private static class RecordingGate
+        extends EventDelivery.Gate
+    {
+        private final List<Integer> delivered = new ArrayList<Integer>();
+        private int event;
+
+        RecordingGate( EventDelivery delivery )
+        {
+            super( delivery );
+        }
+
+        void onEvent( int event )
+        {
+            this.event = event;
+            post();
+        }
+
+        @Override
+        void fire()
+        {
+            delivered.add( event );
+        }
+    }
+
+    @Override
+    public String getModuleName()
+    {
+        return "com.googlecode.gflot.GFlot";
+    }
+
+    public void testTrailingDeliversTheLastEvent()
+    {
+        final RecordingGate gate = new RecordingGate( EventDelivery.trailing( 50 ) );
+        gate.onEvent( 1 );
+        gate.onEvent( 2 );
+        gate.onEvent( 3 );
+        assertTrue( gate.delivered.isEmpty() );
+
+        check( new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                assertEquals( 1, gate.delivered.size() );
+                assertEquals( 3, gate.delivered.get( 0 ).intValue() );
+            }
+        } );
+    }
+
+    public void testThrottleDeliversTheFirstAndLastEvents()
+    {
+        final RecordingGate gate = new RecordingGate( EventDelivery.throttle( 50 ) );
+        gate.onEvent( 1 );
+        // the first event is delivered immediately, the next ones wait for the end of the interval
+        assertEquals( 1, gate.delivered.size() );
+        gate.onEvent( 2 );
+        gate.onEvent( 3 );
+        assertEquals( 1, gate.delivered.size() );
+
+        check( new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                assertEquals( 2, gate.delivered.size() );
+                assertEquals( 1, gate.delivered.get( 0 ).intValue() );
+                assertEquals( 3, gate.delivered.get( 1 ).intValue() );
+            }
+        } );
+    }
+
+    public void testDropDiscardsThePendingEvent()
+    {
+        final RecordingGate gate = new RecordingGate( EventDelivery.trailing( 50 ) );
+        gate.onEvent( 1 );
+        gate.drop();
+
+        check( new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                assertTrue( gate.delivered.isEmpty() );
+            }
+        } );
+    }
+
+    /**
+     * Runs the assertions once the delays of the deliveries have elapsed.
+     */
+    private void check( final Runnable assertions )
+    {
+        delayTestFinish( 5000 );
+        new Timer()
+        {
+            @Override
+            public void run()
+            {
+                assertions.run();
+                finishTest();
+            }
+        }.schedule( 300 );
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.gflot.client;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+public class LargestTriangleThreeBucketsSeriesDataStrategyTest
+    extends GWTTestCase
+{
+
+    @Override
+    public String getModuleName()
+    {
+        return "com.googlecode.gflot.GFlot";
+    }
+
+    public void testEmpty()
+    {
+        SeriesDataStrategy strategy = new LargestTriangleThreeBucketsSeriesDataStrategy( 10 );
+        assertEquals( 0, strategy.getData().length() );
+        assertEquals( 0, strategy.getStatistics().getCount() );
+
+        strategy.setData( SeriesData.create() );
+        assertEquals( 0, strategy.getData().length() );
+        assertEquals( 0, strategy.getStatistics().getCount() );
+    }
+
+    public void testSinglePoint()
+    {
+        SeriesDataStrategy strategy = new LargestTriangleThreeBucketsSeriesDataStrategy( 10 );
+        strategy.add( DataPoint.of( 1, 2 ) );
+        assertEquals( 1, strategy.getData().length() );
+        assertEquals( 1d, strategy.getData().getX( 0 ) );
+        assertStatistics( strategy );
+    }
+
+    public void testKeepsEverythingUnderTheCapacity()
+    {
+        SeriesDataStrategy strategy = new LargestTriangleThreeBucketsSeriesDataStrategy( 10 );
+        for ( int i = 0; i < 10; i++ )
+        {
+            strategy.add( DataPoint.of( i, i * i ) );
+        }
+        assertEquals( 10, strategy.getData().length() );
+        for ( int i = 0; i < 10; i++ )
+        {
+            assertEquals( (double) i, strategy.getData().getX( i ) );
+        }
+        assertStatistics( strategy );
+    }
+
+    public void testAddKeepsTheFirstAndLastDatapoints()
+    {
+        SeriesDataStrategy strategy = new LargestTriangleThreeBucketsSeriesDataStrategy( 20 );
+        for ( int i = 0; i < 1000; i++ )
+        {
+            strategy.add( DataPoint.of( i, Math.sin( i / 10d ) ) );
+            assertTrue( strategy.getData().length() <= 20 );
+            assertEquals( 0d, strategy.getData().getX( 0 ) );
+            assertEquals( (double) i, strategy.getData().getX( strategy.getData().length() - 1 ) );
+            if ( i % 37 == 0 )
+            {
+                assertStatistics( strategy );
+            }
+        }
+        assertAscending( strategy.getData() );
+        assertStatistics( strategy );
+    }
+
+    public void testAddAllMatchesAdd()
+    {
+        SeriesDataStrategy one = new LargestTriangleThreeBucketsSeriesDataStrategy( 16 );
+        SeriesDataStrategy batch = new LargestTriangleThreeBucketsSeriesDataStrategy( 16 );
+        double[] xs = new double[500];
+        double[] ys = new double[500];
+        for ( int i = 0; i < xs.length; i++ )
+        {
+            xs[i] = i;
+            ys[i] = Math.cos( i / 7d );
+            one.add( DataPoint.of( xs[i], ys[i] ) );
+        }
+        batch.addAll( xs, ys );
+
+        assertEquals( one.getData().length(), batch.getData().length() );
+        for ( int i = 0; i < one.getData().length(); i++ )
+        {
+            assertEquals( one.getData().getX( i ), batch.getData().getX( i ) );
+            assertEquals( one.getData().getY( i ), batch.getData().getY( i ) );
+        }
+        assertStatistics( batch );
+    }
+
+    public void testSetDataDownsamples()
+    {
+        SeriesData data = SeriesData.create();
+        for ( int i = 0; i < 1000; i++ )
+        {
+            data.push( i, i == 500 ? 100 : 0 );
+        }
+        SeriesDataStrategy strategy = new LargestTriangleThreeBucketsSeriesDataStrategy( 10 );
+        strategy.setData( data );
+
+        SeriesData result = strategy.getData();
+        assertEquals( 10, result.length() );
+        assertEquals( 0d, result.getX( 0 ) );
+        assertEquals( 999d, result.getX( 9 ) );
+        assertAscending( result );
+        // the peak forms the largest triangle of its bucket
+        boolean peak = false;
+        for ( int i = 0; i < result.length(); i++ )
+        {
+            peak |= result.getY( i ) == 100;
+        }
+        assertTrue( peak );
+        assertStatistics( strategy );
+
+        // the datapoints added afterwards are appended
+        strategy.add( DataPoint.of( 1000, 1 ) );
+        assertEquals( 1000d, result.getX( result.length() - 1 ) );
+        assertStatistics( strategy );
+    }
+
+    public void testDuplicateX()
+    {
+        SeriesDataStrategy strategy = new LargestTriangleThreeBucketsSeriesDataStrategy( 8 );
+        for ( int i = 0; i < 200; i++ )
+        {
+            strategy.add( DataPoint.of( 5, i % 3 ) );
+        }
+        SeriesData result = strategy.getData();
+        assertTrue( result.length() <= 8 );
+        for ( int i = 0; i < result.length(); i++ )
+        {
+            assertEquals( 5d, result.getX( i ) );
+        }
+        assertStatistics( strategy );
+    }
+
+    public void testCapacityIsClamped()
+    {
+        SeriesDataStrategy strategy = new LargestTriangleThreeBucketsSeriesDataStrategy( 1 );
+        for ( int i = 0; i < 100; i++ )
+        {
+            strategy.add( DataPoint.of( i, i % 2 ) );
+        }
+        assertTrue( strategy.getData().length() > 1 );
+        assertTrue( strategy.getData().length() <= LargestTriangleThreeBucketsSeriesDataStrategy.MIN_CAPACITY );
+        assertEquals( 99d, strategy.getData().getX( strategy.getData().length() - 1 ) );
+    }
+
+    public void testClear()
+    {
+        SeriesDataStrategy strategy = new LargestTriangleThreeBucketsSeriesDataStrategy( 6 );
+        for ( int i = 0; i < 100; i++ )
+        {
+            strategy.add( DataPoint.of( i, i ) );
+        }
+        strategy.clear();
+        assertEquals( 0, strategy.getData().length() );
+        assertEquals( 0, strategy.getStatistics().getCount() );
+
+        strategy.add( DataPoint.of( 7, 8 ) );
+        assertEquals( 1, strategy.getData().length() );
+        assertStatistics( strategy );
+    }
+
+    /**
+     * Compares the statistics maintained by the strategy with the ones of a scan of the data.
+     */
+    private static void assertStatistics( SeriesDataStrategy strategy )
+    {
+        SeriesData data = strategy.getData();
+        SeriesStatistics expected = new SeriesStatistics( data, false );
+        SeriesStatistics actual = strategy.getStatistics();
+        assertEquals( expected.getCount(), actual.getCount() );
+        assertEquals( expected.getMinX(), actual.getMinX() );
+        assertEquals( expected.getMaxX(), actual.getMaxX() );
+        assertEquals( expected.getMinY(), actual.getMinY() );
+        assertEquals( expected.getMaxY(), actual.getMaxY() );
+        assertEquals( expected.getSumY(), actual.getSumY(), 1e-9 );
+    }
+
+    private static void assertAscending( SeriesData data )
+    {
+        for ( int i = 1; i < data.length(); i++ )
+        {
+            assertTrue( data.getX( i - 1 ) <= data.getX( i ) );
+        }
+    }
+}
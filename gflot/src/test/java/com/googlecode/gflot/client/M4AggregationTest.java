@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.gflot.client;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArrayNumber;
+import com.google.gwt.junit.client.GWTTestCase;
+
+public class M4AggregationTest
+    extends GWTTestCase
+{
+
+    @Override
+    public String getModuleName()
+    {
+        return "com.googlecode.gflot.GFlot";
+    }
+
+    public void testEmpty()
+    {
+        SeriesData data = SeriesData.create();
+        assertSame( data, M4Aggregation.aggregate( data, Double.NaN, Double.NaN, 10 ) );
+    }
+
+    public void testSinglePoint()
+    {
+        SeriesData data = SeriesData.create();
+        data.push( 1, 1 );
+        assertSame( data, M4Aggregation.aggregate( data, Double.NaN, Double.NaN, 10 ) );
+        assertSame( data, M4Aggregation.aggregate( data, 0, 2, 10 ) );
+    }
+
+    public void testNotAggregatedUnderFourDatapointsPerColumn()
+    {
+        SeriesData data = wave( 40 );
+        assertSame( data, M4Aggregation.aggregate( data, Double.NaN, Double.NaN, 10 ) );
+
+        SeriesData large = wave( 1000 );
+        assertSame( large, M4Aggregation.aggregate( large, Double.NaN, Double.NaN, 0 ) );
+    }
+
+    public void testAllDatapointsAtTheSameX()
+    {
+        SeriesData data = SeriesData.create();
+        for ( int i = 0; i < 100; i++ )
+        {
+            data.push( 1, i );
+        }
+        // the range is empty, there is nothing to aggregate
+        assertSame( data, M4Aggregation.aggregate( data, Double.NaN, Double.NaN, 10 ) );
+    }
+
+    public void testKeepsTheExtremesOfEachColumn()
+    {
+        SeriesData data = wave( 1000 );
+        data.push( 1000, 50 );
+        data.push( 1001, -50 );
+        data.push( 1002, 0 );
+        SeriesData result = M4Aggregation.aggregate( data, Double.NaN, Double.NaN, 10 );
+
+        // the maximum x value starts a column of its own
+        assertTrue( result.length() <= 4 * 11 );
+        assertEquals( 0d, result.getX( 0 ) );
+        assertEquals( 1002d, result.getX( result.length() - 1 ) );
+        assertAscending( result );
+        assertContains( result, 1000, 50 );
+        assertContains( result, 1001, -50 );
+    }
+
+    public void testDuplicateX()
+    {
+        SeriesData data = SeriesData.create();
+        for ( int i = 0; i < 400; i++ )
+        {
+            data.push( i / 4, i % 4 == 1 ? 10 : 0 );
+        }
+        SeriesData result = M4Aggregation.aggregate( data, Double.NaN, Double.NaN, 10 );
+
+        assertTrue( result.length() < data.length() );
+        assertAscending( result );
+        assertContains( result, 0, 10 );
+        assertContains( result, 99, 10 );
+    }
+
+    public void testKeepsTheDatapointsAroundTheVisibleRange()
+    {
+        SeriesData result = M4Aggregation.aggregate( wave( 1000 ), 100, 200, 5 );
+
+        assertEquals( 99d, result.getX( 0 ) );
+        assertEquals( 201d, result.getX( result.length() - 1 ) );
+        assertAscending( result );
+    }
+
+    public void testGapsAreKept()
+    {
+        SeriesData data = wave( 1000 );
+        data.set( 500, DataPoint.of( Double.NaN, Double.NaN ) );
+        SeriesData result = M4Aggregation.aggregate( data, Double.NaN, Double.NaN, 10 );
+
+        int gaps = 0;
+        for ( int i = 0; i < result.length(); i++ )
+        {
+            if ( Double.isNaN( result.getX( i ) ) )
+            {
+                gaps++;
+            }
+        }
+        assertEquals( 1, gaps );
+        // the datapoints after the gap are still aggregated
+        assertEquals( 999d, result.getX( result.length() - 1 ) );
+    }
+
+    public void testAggregatePoints()
+    {
+        int pointSize = 3;
+        JsArrayNumber points = JavaScriptObject.createArray().cast();
+        for ( int i = 0; i < 1000; i++ )
+        {
+            points.push( i );
+            points.push( Math.sin( i ) );
+            points.push( 0 );
+        }
+        JsArrayNumber result = M4Aggregation.aggregatePoints( points, pointSize, Double.NaN, Double.NaN, 10 );
+
+        assertEquals( 0, result.length() % pointSize );
+        assertTrue( result.length() / pointSize <= 4 * 11 );
+        assertEquals( 0d, result.get( 0 ) );
+        assertEquals( 999d, result.get( result.length() - pointSize ) );
+
+        JsArrayNumber empty = JavaScriptObject.createArray().cast();
+        assertSame( empty, M4Aggregation.aggregatePoints( empty, pointSize, Double.NaN, Double.NaN, 10 ) );
+    }
+
+    private static SeriesData wave( int length )
+    {
+        SeriesData data = SeriesData.create();
+        for ( int i = 0; i < length; i++ )
+        {
+            data.push( i, Math.sin( i / 10d ) );
+        }
+        return data;
+    }
+
+    private static void assertAscending( SeriesData data )
+    {
+        for ( int i = 1; i < data.length(); i++ )
+        {
+            assertTrue( data.getX( i - 1 ) <= data.getX( i ) );
+        }
+    }
+
+    private static void assertContains( SeriesData data, double x, double y )
+    {
+        for ( int i = 0; i < data.length(); i++ )
+        {
+            if ( data.getX( i ) == x && data.getY( i ) == y )
+            {
+                return;
+            }
+        }
+        fail( "(" + x + ", " + y + ") not found" );
+    }
+}
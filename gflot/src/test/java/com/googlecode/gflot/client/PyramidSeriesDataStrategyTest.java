@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.gflot.client;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+public class PyramidSeriesDataStrategyTest
+    extends GWTTestCase
+{
+
+    @Override
+    public String getModuleName()
+    {
+        return "com.googlecode.gflot.GFlot";
+    }
+
+    public void testEmpty()
+    {
+        PyramidSeriesDataStrategy strategy = new PyramidSeriesDataStrategy();
+        assertEquals( 0, strategy.getData().length() );
+        assertEquals( 0, strategy.getRawData().length() );
+
+        strategy.setVisibleRange( 0, 10, 100 );
+        assertEquals( 0, strategy.getData().length() );
+        assertEquals( 0, strategy.getStatistics().getCount() );
+    }
+
+    public void testSinglePoint()
+    {
+        PyramidSeriesDataStrategy strategy = new PyramidSeriesDataStrategy();
+        strategy.add( DataPoint.of( 3, 4 ) );
+        assertEquals( 1, strategy.getData().length() );
+        assertEquals( 3d, strategy.getData().getX( 0 ) );
+        assertEquals( 4d, strategy.getData().getY( 0 ) );
+
+        // a single datapoint stays displayed whatever the width
+        strategy.setVisibleRange( Double.NaN, Double.NaN, 1 );
+        assertEquals( 1, strategy.getData().length() );
+    }
+
+    public void testDisplaysTheRawDataWhenItFits()
+    {
+        PyramidSeriesDataStrategy strategy = new PyramidSeriesDataStrategy();
+        for ( int i = 0; i < 100; i++ )
+        {
+            strategy.add( DataPoint.of( i, i % 7 ) );
+        }
+        assertEquals( 100, strategy.getData().length() );
+        for ( int i = 0; i < 100; i++ )
+        {
+            assertEquals( (double) i, strategy.getData().getX( i ) );
+        }
+    }
+
+    public void testDisplaysACoarserLevelOnAWideRange()
+    {
+        PyramidSeriesDataStrategy strategy = new PyramidSeriesDataStrategy();
+        strategy.setVisibleRange( Double.NaN, Double.NaN, 10 );
+        for ( int i = 0; i < 10000; i++ )
+        {
+            double y = i == 777 ? -100 : i == 4321 ? 100 : Math.sin( i / 50d );
+            strategy.add( DataPoint.of( i, y ) );
+        }
+        SeriesData data = strategy.getData();
+
+        assertEquals( 10000, strategy.getRawData().length() );
+        assertTrue( data.length() < 100 );
+        assertAscending( data );
+        // the extremes are kept by every level
+        assertContains( data, 777, -100 );
+        assertContains( data, 4321, 100 );
+        assertStatistics( strategy );
+    }
+
+    public void testDisplaysTheRawDatapointsWhenZoomed()
+    {
+        PyramidSeriesDataStrategy strategy = new PyramidSeriesDataStrategy();
+        for ( int i = 0; i < 10000; i++ )
+        {
+            strategy.add( DataPoint.of( i, Math.sin( i ) ) );
+        }
+        strategy.setVisibleRange( 100, 110, 10 );
+        SeriesData data = strategy.getData();
+
+        // the datapoints just outside the range are kept
+        assertEquals( 13, data.length() );
+        assertEquals( 99d, data.getX( 0 ) );
+        assertEquals( 111d, data.getX( 12 ) );
+        assertStatistics( strategy );
+
+        // a datapoint added after the visible range does not change the data
+        strategy.add( DataPoint.of( 10000, 0 ) );
+        assertEquals( 13, strategy.getData().length() );
+    }
+
+    public void testFollowsTheAppendedData()
+    {
+        PyramidSeriesDataStrategy strategy = new PyramidSeriesDataStrategy();
+        strategy.setVisibleRange( Double.NaN, Double.NaN, 2 );
+        for ( int i = 0; i < 1000; i++ )
+        {
+            strategy.add( DataPoint.of( i, i ) );
+            SeriesData data = strategy.getData();
+            // the last datapoint is the maximum of the block being built
+            assertEquals( (double) i, data.getX( data.length() - 1 ) );
+            assertAscending( data );
+        }
+        assertStatistics( strategy );
+    }
+
+    public void testDuplicateX()
+    {
+        PyramidSeriesDataStrategy strategy = new PyramidSeriesDataStrategy();
+        strategy.setVisibleRange( Double.NaN, Double.NaN, 1 );
+        for ( int i = 0; i < 64; i++ )
+        {
+            strategy.add( DataPoint.of( 5, i ) );
+        }
+        SeriesData data = strategy.getData();
+
+        assertEquals( 2, data.length() );
+        assertContains( data, 5, 0 );
+        assertContains( data, 5, 63 );
+        assertStatistics( strategy );
+    }
+
+    public void testSetDataAndClear()
+    {
+        SeriesData newData = SeriesData.create();
+        for ( int i = 0; i < 1000; i++ )
+        {
+            newData.push( i, -i );
+        }
+        PyramidSeriesDataStrategy strategy = new PyramidSeriesDataStrategy();
+        strategy.setVisibleRange( Double.NaN, Double.NaN, 10 );
+        strategy.setData( newData );
+        assertEquals( 1000, strategy.getRawData().length() );
+        assertContains( strategy.getData(), 0, 0 );
+        assertContains( strategy.getData(), 999, -999 );
+
+        strategy.clear();
+        assertEquals( 0, strategy.getData().length() );
+        assertEquals( 0, strategy.getRawData().length() );
+        assertEquals( 0, strategy.getStatistics().getCount() );
+    }
+
+    private static void assertStatistics( SeriesDataStrategy strategy )
+    {
+        SeriesStatistics expected = new SeriesStatistics( strategy.getData(), false );
+        SeriesStatistics actual = strategy.getStatistics();
+        assertEquals( expected.getCount(), actual.getCount() );
+        assertEquals( expected.getMinY(), actual.getMinY() );
+        assertEquals( expected.getMaxY(), actual.getMaxY() );
+    }
+
+    private static void assertAscending( SeriesData data )
+    {
+        for ( int i = 1; i < data.length(); i++ )
+        {
+            assertTrue( data.getX( i - 1 ) <= data.getX( i ) );
+        }
+    }
+
+    private static void assertContains( SeriesData data, double x, double y )
+    {
+        for ( int i = 0; i < data.length(); i++ )
+        {
+            if ( data.getX( i ) == x && data.getY( i ) == y )
+            {
+                return;
+            }
+        }
+        fail( "(" + x + ", " + y + ") not found" );
+    }
+}
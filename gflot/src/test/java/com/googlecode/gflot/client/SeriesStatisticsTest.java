@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.gflot.client;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+public class SeriesStatisticsTest
+    extends GWTTestCase
+{
+
+    @Override
+    public String getModuleName()
+    {
+        return "com.googlecode.gflot.GFlot";
+    }
+
+    public void testEmpty()
+    {
+        assertEmpty( new SeriesStatistics( SeriesData.create(), false ) );
+        assertEmpty( new SeriesStatistics( SeriesData.create(), true ) );
+    }
+
+    public void testSinglePoint()
+    {
+        for ( boolean removable : new boolean[] { false, true } )
+        {
+            SeriesData data = SeriesData.create();
+            SeriesStatistics statistics = new SeriesStatistics( data, removable );
+            data.push( 2, 3 );
+            assertEquals( 1, statistics.getCount() );
+            assertEquals( 2d, statistics.getMinX() );
+            assertEquals( 2d, statistics.getMaxX() );
+            assertEquals( 3d, statistics.getMinY() );
+            assertEquals( 3d, statistics.getMaxY() );
+            assertEquals( 3d, statistics.getSumY() );
+            assertEquals( 3d, statistics.getMeanY() );
+        }
+    }
+
+    public void testDuplicateX()
+    {
+        for ( boolean removable : new boolean[] { false, true } )
+        {
+            SeriesData data = SeriesData.create();
+            SeriesStatistics statistics = new SeriesStatistics( data, removable );
+            data.push( 1, 5 );
+            data.push( 1, -2 );
+            data.push( 1, 3 );
+            assertEquals( 3, statistics.getCount() );
+            assertEquals( 1d, statistics.getMinX() );
+            assertEquals( 1d, statistics.getMaxX() );
+            assertEquals( -2d, statistics.getMinY() );
+            assertEquals( 5d, statistics.getMaxY() );
+            assertEquals( 6d, statistics.getSumY() );
+        }
+    }
+
+    public void testNaNIsCountedButIgnored()
+    {
+        SeriesData data = SeriesData.create();
+        SeriesStatistics statistics = new SeriesStatistics( data, true );
+        data.push( 1, 2 );
+        data.push( Double.NaN, Double.NaN );
+        data.push( 3, 4 );
+        assertEquals( 3, statistics.getCount() );
+        assertEquals( 1d, statistics.getMinX() );
+        assertEquals( 3d, statistics.getMaxX() );
+        assertEquals( 6d, statistics.getSumY() );
+    }
+
+    public void testAppendedDatapointsAreFoldedInOnRead()
+    {
+        for ( boolean removable : new boolean[] { false, true } )
+        {
+            SeriesData data = SeriesData.create();
+            SeriesStatistics statistics = new SeriesStatistics( data, removable );
+            data.push( 1, 10 );
+            data.push( 2, 20 );
+            assertEquals( 2, statistics.getCount() );
+            assertEquals( 20d, statistics.getMaxY() );
+
+            data.push( 3, -5 );
+            data.push( 4, 30 );
+            assertEquals( 4, statistics.getCount() );
+            assertEquals( 1d, statistics.getMinX() );
+            assertEquals( 4d, statistics.getMaxX() );
+            assertEquals( -5d, statistics.getMinY() );
+            assertEquals( 30d, statistics.getMaxY() );
+            assertEquals( 55d, statistics.getSumY() );
+            assertEquals( 13.75, statistics.getMeanY() );
+        }
+    }
+
+    public void testRemoveFirstUpdatesTheWindow()
+    {
+        double[] ys = { 5, 1, 4, 2, 3, 0, 6 };
+        SeriesData data = SeriesData.create();
+        SeriesStatistics statistics = new SeriesStatistics( data, true );
+        for ( int i = 0; i < ys.length; i++ )
+        {
+            data.push( i, ys[i] );
+            // reads after each push so the deques are filled
+            statistics.getMinY();
+        }
+
+        // drops 5 and 1
+        statistics.removeFirst( 2 );
+        data.shift( 2 );
+        assertEquals( 5, statistics.getCount() );
+        assertEquals( 2d, statistics.getMinX() );
+        assertEquals( 6d, statistics.getMaxX() );
+        assertEquals( 0d, statistics.getMinY() );
+        assertEquals( 6d, statistics.getMaxY() );
+        assertEquals( 15d, statistics.getSumY() );
+
+        // drops 4, 2, 3 and 0
+        statistics.removeFirst( 4 );
+        data.shift( 4 );
+        assertEquals( 1, statistics.getCount() );
+        assertEquals( 6d, statistics.getMinY() );
+        assertEquals( 6d, statistics.getMaxY() );
+    }
+
+    public void testRemoveFirstBeforeRead()
+    {
+        SeriesData data = SeriesData.create();
+        SeriesStatistics statistics = new SeriesStatistics( data, true );
+        data.push( 1, 1 );
+        assertEquals( 1, statistics.getCount() );
+
+        // the last two datapoints are not taken into account yet
+        data.push( 2, 2 );
+        data.push( 3, 3 );
+        statistics.removeFirst( 2 );
+        data.shift( 2 );
+        assertEquals( 1, statistics.getCount() );
+        assertEquals( 3d, statistics.getMinX() );
+        assertEquals( 3d, statistics.getSumY() );
+    }
+
+    public void testAllEvicted()
+    {
+        SeriesData data = SeriesData.create();
+        SeriesStatistics statistics = new SeriesStatistics( data, true );
+        data.push( 1, 1.1 );
+        data.push( 2, 2.2 );
+        data.push( 3, 3.3 );
+        assertEquals( 3, statistics.getCount() );
+
+        statistics.removeFirst( 3 );
+        data.shift( 3 );
+        assertEmpty( statistics );
+
+        // the statistics keep working after the data has been emptied
+        data.push( 4, 4 );
+        assertEquals( 1, statistics.getCount() );
+        assertEquals( 4d, statistics.getMinX() );
+        assertEquals( 4d, statistics.getSumY() );
+    }
+
+    public void testSpanEvictsAllButTheLastDatapoint()
+    {
+        SeriesDataStrategy strategy = PlotModelStrategy.slidingWindowStrategy( 10, 5 );
+        strategy.add( DataPoint.of( 1, 1 ) );
+        strategy.add( DataPoint.of( 2, 2 ) );
+        assertEquals( 2, strategy.getStatistics().getCount() );
+
+        strategy.add( DataPoint.of( 100, 3 ) );
+        assertEquals( 1, strategy.getData().length() );
+        assertEquals( 1, strategy.getStatistics().getCount() );
+        assertEquals( 100d, strategy.getStatistics().getMinX() );
+        assertEquals( 3d, strategy.getStatistics().getSumY() );
+    }
+
+    public void testInvalidate()
+    {
+        SeriesData data = SeriesData.create();
+        SeriesStatistics statistics = new SeriesStatistics( data, false );
+        data.push( 1, 100 );
+        data.push( 2, 200 );
+        assertEquals( 200d, statistics.getMaxY() );
+
+        // the datapoints are replaced, the maximum can only be found again by a new scan
+        SeriesData other = SeriesData.create();
+        other.push( 1, 10 );
+        data.setData( other );
+        statistics.invalidate();
+        assertEquals( 1, statistics.getCount() );
+        assertEquals( 10d, statistics.getMaxY() );
+        assertEquals( 10d, statistics.getSumY() );
+    }
+
+    public void testReplaceableLastDatapoint()
+    {
+        SeriesData data = SeriesData.create();
+        SeriesStatistics statistics = new SeriesStatistics( data, false );
+        statistics.setReplaceable( 1 );
+        data.push( 1, 1 );
+        data.push( 2, 50 );
+        assertEquals( 2, statistics.getCount() );
+        assertEquals( 50d, statistics.getMaxY() );
+
+        // the last datapoint is replaced without invalidating the statistics
+        data.setLength( 1 );
+        data.push( 3, 2 );
+        assertEquals( 2, statistics.getCount() );
+        assertEquals( 3d, statistics.getMaxX() );
+        assertEquals( 2d, statistics.getMaxY() );
+        assertEquals( 3d, statistics.getSumY() );
+    }
+
+    public void testMerge()
+    {
+        SeriesData first = SeriesData.create();
+        first.push( 1, 1 );
+        SeriesData second = SeriesData.create();
+        second.push( 5, -1 );
+        second.push( 6, 4 );
+        SeriesStatistics merged = new SeriesStatistics( first, false ).merge( new SeriesStatistics( second, false ) );
+        assertEquals( 3, merged.getCount() );
+        assertEquals( 1d, merged.getMinX() );
+        assertEquals( 6d, merged.getMaxX() );
+        assertEquals( -1d, merged.getMinY() );
+        assertEquals( 4d, merged.getMaxY() );
+        assertEquals( 4d, merged.getSumY() );
+
+        SeriesStatistics empty = new SeriesStatistics( SeriesData.create(), false );
+        assertEquals( 1d, new SeriesStatistics( first, false ).merge( empty ).getMaxX() );
+    }
+
+    private static void assertEmpty( SeriesStatistics statistics )
+    {
+        assertEquals( 0, statistics.getCount() );
+        assertTrue( Double.isNaN( statistics.getMinX() ) );
+        assertTrue( Double.isNaN( statistics.getMaxX() ) );
+        assertTrue( Double.isNaN( statistics.getMinY() ) );
+        assertTrue( Double.isNaN( statistics.getMaxY() ) );
+        assertEquals( 0d, statistics.getSumY() );
+        assertTrue( Double.isNaN( statistics.getMeanY() ) );
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2012 Nicolas Morel
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.gflot.client.util;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import com.googlecode.gflot.client.SeriesData;
+
+public class AlgorithmTest
+    extends GWTTestCase
+{
+
+    @Override
+    public String getModuleName()
+    {
+        return "com.googlecode.gflot.GFlot";
+    }
+
+    public void testEmpty()
+    {
+        SeriesData s = of();
+        assertEquals( 0, Algorithm.xLowerBound( s, 1 ) );
+        assertEquals( 0, Algorithm.xUpperBound( s, 1 ) );
+        assertEquals( -1, Algorithm.xFloor( s, 1 ) );
+        assertEquals( -1, Algorithm.xCeiling( s, 1 ) );
+        assertEquals( -1, Algorithm.xNearest( s, 1 ) );
+        assertEquals( 0, Algorithm.xInterpolationLowerBound( s, 1 ) );
+        assertEquals( -1, Algorithm.xBinarySearch( s, 1 ) );
+
+        int[] span = new int[2];
+        assertEquals( 0, Algorithm.xRange( s, 0, 10, span ) );
+        assertEquals( span[0], span[1] );
+    }
+
+    public void testSinglePoint()
+    {
+        SeriesData s = of( 5 );
+        assertEquals( 0, Algorithm.xLowerBound( s, 4 ) );
+        assertEquals( 0, Algorithm.xLowerBound( s, 5 ) );
+        assertEquals( 1, Algorithm.xLowerBound( s, 6 ) );
+        assertEquals( 0, Algorithm.xUpperBound( s, 4 ) );
+        assertEquals( 1, Algorithm.xUpperBound( s, 5 ) );
+
+        assertEquals( -1, Algorithm.xFloor( s, 4 ) );
+        assertEquals( 0, Algorithm.xFloor( s, 5 ) );
+        assertEquals( 0, Algorithm.xFloor( s, 6 ) );
+        assertEquals( 0, Algorithm.xCeiling( s, 4 ) );
+        assertEquals( 0, Algorithm.xCeiling( s, 5 ) );
+        assertEquals( -1, Algorithm.xCeiling( s, 6 ) );
+
+        assertEquals( 0, Algorithm.xNearest( s, -100 ) );
+        assertEquals( 0, Algorithm.xNearest( s, 100 ) );
+
+        assertEquals( 0, Algorithm.xBinarySearch( s, 5 ) );
+        assertEquals( -1, Algorithm.xBinarySearch( s, 4 ) );
+        assertEquals( -1, Algorithm.xBinarySearch( s, 6 ) );
+    }
+
+    public void testBoundsOutsideTheData()
+    {
+        SeriesData s = of( 1, 2, 3 );
+        assertEquals( 0, Algorithm.xLowerBound( s, Double.NEGATIVE_INFINITY ) );
+        assertEquals( 3, Algorithm.xLowerBound( s, Double.POSITIVE_INFINITY ) );
+        assertEquals( 0, Algorithm.xUpperBound( s, 0 ) );
+        assertEquals( 3, Algorithm.xUpperBound( s, 3 ) );
+        assertEquals( -1, Algorithm.xFloor( s, 0.5 ) );
+        assertEquals( 2, Algorithm.xFloor( s, 10 ) );
+        assertEquals( 0, Algorithm.xCeiling( s, -10 ) );
+        assertEquals( -1, Algorithm.xCeiling( s, 3.5 ) );
+    }
+
+    public void testDuplicateX()
+    {
+        SeriesData s = of( 1, 2, 2, 2, 3 );
+        assertEquals( 1, Algorithm.xLowerBound( s, 2 ) );
+        assertEquals( 4, Algorithm.xUpperBound( s, 2 ) );
+        assertEquals( 3, Algorithm.xFloor( s, 2 ) );
+        assertEquals( 1, Algorithm.xCeiling( s, 2 ) );
+        assertEquals( 1, Algorithm.xNearest( s, 2 ) );
+        assertEquals( 1, Algorithm.xInterpolationLowerBound( s, 2 ) );
+        assertEquals( 2d, s.getX( Algorithm.xBinarySearch( s, 2 ) ) );
+
+        int[] span = new int[2];
+        assertEquals( 3, Algorithm.xRange( s, 2, 2, span ) );
+        assertEquals( 1, span[0] );
+        assertEquals( 4, span[1] );
+
+        SeriesData same = of( 7, 7, 7, 7 );
+        assertEquals( 0, Algorithm.xLowerBound( same, 7 ) );
+        assertEquals( 4, Algorithm.xUpperBound( same, 7 ) );
+        assertEquals( 0, Algorithm.xInterpolationLowerBound( same, 7 ) );
+        assertEquals( 4, Algorithm.xInterpolationLowerBound( same, 8 ) );
+    }
+
+    public void testRangedBounds()
+    {
+        SeriesData s = of( 0, 1, 2, 3, 4, 5 );
+        assertEquals( 2, Algorithm.xLowerBound( s, 2, 4, 0 ) );
+        assertEquals( 4, Algorithm.xLowerBound( s, 2, 4, 10 ) );
+        assertEquals( 3, Algorithm.xUpperBound( s, 2, 4, 2 ) );
+        assertEquals( 4, Algorithm.xUpperBound( s, 2, 4, 4 ) );
+    }
+
+    public void testNearest()
+    {
+        SeriesData s = of( 0, 10, 20 );
+        assertEquals( 0, Algorithm.xNearest( s, 4 ) );
+        assertEquals( 1, Algorithm.xNearest( s, 6 ) );
+        // at the same distance, the first one is returned
+        assertEquals( 0, Algorithm.xNearest( s, 5 ) );
+        assertEquals( 2, Algorithm.xNearest( s, 25 ) );
+    }
+
+    public void testRange()
+    {
+        SeriesData s = of( 0, 1, 2, 3, 4, 5 );
+        int[] span = new int[2];
+        assertEquals( 3, Algorithm.xRange( s, 1.5, 4, span ) );
+        assertEquals( 2, span[0] );
+        assertEquals( 5, span[1] );
+
+        assertEquals( 0, Algorithm.xRange( s, 2.2, 2.8, span ) );
+        assertEquals( span[0], span[1] );
+
+        assertEquals( 6, Algorithm.xRange( s, -10, 10, span ) );
+        assertEquals( 0, span[0] );
+        assertEquals( 6, span[1] );
+    }
+
+    public void testInterpolationMatchesLowerBound()
+    {
+        // uniform then skewed spacing
+        double[] xs = new double[200];
+        for ( int i = 0; i < xs.length; i++ )
+        {
+            xs[i] = i < 100 ? i : 100 + ( i - 100 ) * ( i - 100 );
+        }
+        SeriesData s = of( xs );
+        for ( double x = -5; x < 10000; x += 7.5 )
+        {
+            assertEquals( Algorithm.xLowerBound( s, x ), Algorithm.xInterpolationLowerBound( s, x ) );
+        }
+    }
+
+    public void testBinarySearch()
+    {
+        SeriesData s = of( 0, 10, 20, 30 );
+        assertEquals( 2, Algorithm.xBinarySearch( s, 20 ) );
+        assertEquals( 1, Algorithm.xBinarySearch( s, 12 ) );
+        assertEquals( 2, Algorithm.xBinarySearch( s, 18 ) );
+        assertEquals( 3, Algorithm.xBinarySearch( s, 30 ) );
+        assertEquals( -1, Algorithm.xBinarySearch( s, -1 ) );
+        assertEquals( -1, Algorithm.xBinarySearch( s, 31 ) );
+    }
+
+    private static SeriesData of( double... xs )
+    {
+        return SeriesData.createColumnar( xs, new double[xs.length] );
+    }
+}